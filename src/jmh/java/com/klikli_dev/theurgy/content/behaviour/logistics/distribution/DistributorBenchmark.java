@@ -0,0 +1,74 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
+import com.klikli_dev.theurgy.logistics.BenchmarkLeafNodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per extraction work of the distributors: advancing to the next targets and splitting the extracted amount.
+ * <p>
+ * Capacities vary per target, so the splitting distributors have to overflow into other targets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistributorBenchmark {
+
+    @Param({"ROUND_ROBIN", "EVEN_SPLIT", "WEIGHTED", "FILL_FIRST"})
+    public DistributionMode mode;
+
+    @Param({"1", "8", "64"})
+    public int targetCount;
+
+    private Distributor<Object, Void> distributor;
+    private int[] capacities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<InsertTarget<Object, Void>> targets = new ArrayList<>();
+        for (int i = 0; i < this.targetCount; i++) {
+            targets.add(new InsertTarget<>(new BenchmarkLeafNodes.Inserter(BenchmarkLeafNodes.pos(i, 0), 0), null));
+        }
+        this.distributor = DistributionMode.createDistributor(this.mode, targets);
+
+        this.capacities = new int[this.targetCount];
+        for (int i = 0; i < this.targetCount; i++) {
+            this.capacities[i] = i % 3 == 0 ? 0 : 1 + (i * 7) % 64;
+        }
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        this.distributor.tick();
+        blackhole.consume(this.distributor.target());
+    }
+
+    /**
+     * What an extraction does with the distributor, without the capability handling around it.
+     */
+    @Benchmark
+    public int[] extract() {
+        this.distributor.tick();
+        var targets = this.distributor.currentTargets();
+        //the extractors also build a new capacity array per extraction
+        return this.distributor.split(64, Arrays.copyOf(this.capacities, targets.size()));
+    }
+}
@@ -0,0 +1,139 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import com.klikli_dev.theurgy.Theurgy;
+import com.klikli_dev.theurgy.content.behaviour.logistics.ExtractorNodeBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.logistics.InserterNodeBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeMode;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.GlobalPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.capabilities.BlockCapability;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lightweight leaf nodes for the benchmarks.
+ * They have no block entity and no level, so the benchmarks can run without starting a server.
+ * <p>
+ * Capability caches can only be created for a real level, so the stand-ins link with each other through InsertTargets without a capability.
+ * The distributors never touch the capability, so this does not change what they do.
+ */
+public class BenchmarkLeafNodes {
+    public static final BlockCapability<Object, Void> CAPABILITY = BlockCapability.createVoid(Theurgy.loc("benchmark"), Object.class);
+
+    public static GlobalPos pos(int x, int z) {
+        return GlobalPos.of(Level.OVERWORLD, new BlockPos(x, 64, z));
+    }
+
+    public static class Inserter extends InserterNodeBehaviour<Object, Void> {
+        private final GlobalPos pos;
+
+        public Inserter(GlobalPos pos, int frequency) {
+            super(null, CAPABILITY);
+            this.pos = pos;
+            this.frequency = frequency;
+        }
+
+        @Override
+        public Level level() {
+            return null;
+        }
+
+        @Override
+        public GlobalPos globalPos() {
+            return this.pos;
+        }
+
+        @Override
+        public List<BlockCapabilityCache<Object, Void>> availableTargetCapabilities() {
+            return List.of();
+        }
+
+        @Override
+        public Void getTargetContext(BlockPos targetPos) {
+            return null;
+        }
+    }
+
+    public static class Extractor extends ExtractorNodeBehaviour<Object, Void> {
+        private final GlobalPos pos;
+
+        public Extractor(GlobalPos pos, int frequency) {
+            super(null, CAPABILITY);
+            this.pos = pos;
+            this.frequency = frequency;
+        }
+
+        @Override
+        public Level level() {
+            return null;
+        }
+
+        @Override
+        public GlobalPos globalPos() {
+            return this.pos;
+        }
+
+        /**
+         * Same as the real implementation, but without looking up the capabilities of the inserter.
+         */
+        @Override
+        public void onLeafNodeAddedToGraph(GlobalPos pos, LeafNodeBehaviour<Object, Void> leafNode) {
+            if (leafNode.mode() != LeafNodeMode.INSERT)
+                return;
+
+            this.addInsertTarget(leafNode.asInserter(), null);
+        }
+
+        /**
+         * Does the same distributor work as a real extraction, with every target accepting a full stack.
+         */
+        @Override
+        public boolean tickExtraction() {
+            if (this.liveInsertTargets.isEmpty())
+                return false;
+
+            this.distributor.tick();
+            var targets = this.distributor.currentTargets();
+            var capacities = new int[targets.size()];
+            Arrays.fill(capacities, 64);
+            var amounts = this.distributor.split(64, capacities);
+            for (var amount : amounts) {
+                this.stats.recordItemsMoved(amount);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isDormant() {
+            return this.liveInsertTargets.isEmpty();
+        }
+
+        @Override
+        public boolean isRemoved() {
+            return false;
+        }
+
+        @Override
+        public int extractionInterval() {
+            return 10;
+        }
+
+        @Override
+        protected boolean isValidInsertTarget(LeafNodeBehaviour<Object, Void> leafNode, BlockCapabilityCache<Object, Void> capability) {
+            return true;
+        }
+
+        @Override
+        public Void getTargetContext(BlockPos targetPos) {
+            return null;
+        }
+    }
+}
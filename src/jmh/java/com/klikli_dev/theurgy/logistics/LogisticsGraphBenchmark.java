@@ -0,0 +1,117 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import net.minecraft.core.GlobalPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph operations of Logistics on synthetic networks.
+ * <p>
+ * The grid has many cycles, so removing a single edge or node never splits it, but the split detection still has to prove that.
+ * The line is the worst case for splits: removing the middle edge splits it into two halves of equal size, re-adding it merges them again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogisticsGraphBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int nodes;
+
+    private int side;
+    private Logistics grid;
+    private Logistics line;
+
+    private GlobalPos center;
+    private GlobalPos centerRight;
+    private GlobalPos centerDown;
+    private GlobalPos centerLeft;
+    private GlobalPos centerUp;
+
+    private GlobalPos lineMiddle;
+    private GlobalPos lineMiddleNext;
+
+    private static void buildGrid(Logistics logistics, int side) {
+        for (int x = 0; x < side; x++) {
+            for (int z = 0; z < side; z++) {
+                if (x + 1 < side)
+                    logistics.add(BenchmarkLeafNodes.pos(x, z), BenchmarkLeafNodes.pos(x + 1, z));
+                if (z + 1 < side)
+                    logistics.add(BenchmarkLeafNodes.pos(x, z), BenchmarkLeafNodes.pos(x, z + 1));
+            }
+        }
+    }
+
+    private static void buildLine(Logistics logistics, int length) {
+        for (int x = 0; x + 1 < length; x++) {
+            logistics.add(BenchmarkLeafNodes.pos(x, 0), BenchmarkLeafNodes.pos(x + 1, 0));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.side = (int) Math.ceil(Math.sqrt(this.nodes));
+
+        this.grid = new Logistics();
+        buildGrid(this.grid, this.side);
+
+        this.line = new Logistics();
+        buildLine(this.line, this.nodes);
+
+        int c = this.side / 2;
+        this.center = BenchmarkLeafNodes.pos(c, c);
+        this.centerRight = BenchmarkLeafNodes.pos(c + 1, c);
+        this.centerDown = BenchmarkLeafNodes.pos(c, c + 1);
+        this.centerLeft = BenchmarkLeafNodes.pos(c - 1, c);
+        this.centerUp = BenchmarkLeafNodes.pos(c, c - 1);
+
+        this.lineMiddle = BenchmarkLeafNodes.pos(this.nodes / 2, 0);
+        this.lineMiddleNext = BenchmarkLeafNodes.pos(this.nodes / 2 + 1, 0);
+    }
+
+    /**
+     * Builds the grid from scratch, every add(a, b) either creates, extends or merges a network.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Logistics buildGrid() {
+        var logistics = new Logistics();
+        buildGrid(logistics, this.side);
+        return logistics;
+    }
+
+    @Benchmark
+    public void removeAndRestoreEdge(Blackhole blackhole) {
+        this.grid.remove(this.center, this.centerRight);
+        blackhole.consume(this.grid.add(this.center, this.centerRight));
+    }
+
+    @Benchmark
+    public void removeAndRestoreNode(Blackhole blackhole) {
+        this.grid.remove(this.center);
+        this.grid.add(this.center, this.centerRight);
+        this.grid.add(this.center, this.centerDown);
+        this.grid.add(this.center, this.centerLeft);
+        blackhole.consume(this.grid.add(this.center, this.centerUp));
+    }
+
+    @Benchmark
+    public void splitAndMergeLine(Blackhole blackhole) {
+        this.line.remove(this.lineMiddle, this.lineMiddleNext);
+        blackhole.consume(this.line.add(this.lineMiddle, this.lineMiddleNext));
+    }
+}
@@ -0,0 +1,93 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import net.minecraft.core.GlobalPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaf node bookkeeping of a single network: relinking after structural changes, and scheduled extraction.
+ * <p>
+ * The network is a line of wire nodes with evenly spaced leaf nodes, alternating between inserters and extractors on FREQUENCIES frequencies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogisticsNetworkBenchmark {
+    private static final int FREQUENCIES = 4;
+
+    @Param({"1000", "100000", "1000000"})
+    public int nodes;
+
+    @Param({"10", "100", "1000"})
+    public int leafNodes;
+
+    private Logistics logistics;
+    private LogisticsNetwork network;
+    private LogisticsScheduler scheduler;
+
+    private GlobalPos middle;
+    private GlobalPos middleNext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.logistics = new Logistics();
+        for (int x = 0; x + 1 < this.nodes; x++) {
+            this.logistics.add(BenchmarkLeafNodes.pos(x, 0), BenchmarkLeafNodes.pos(x + 1, 0));
+        }
+
+        this.scheduler = new LogisticsScheduler();
+        int spacing = Math.max(1, this.nodes / this.leafNodes);
+        for (int i = 0; i < this.leafNodes; i++) {
+            var pos = BenchmarkLeafNodes.pos(i * spacing, 0);
+            int frequency = i % FREQUENCIES;
+            if (i % 2 == 0) {
+                this.logistics.add(new BenchmarkLeafNodes.Inserter(pos, frequency));
+            } else {
+                var extractor = new BenchmarkLeafNodes.Extractor(pos, frequency);
+                this.logistics.add(extractor);
+                this.scheduler.register(extractor);
+            }
+        }
+
+        this.network = this.logistics.getNetwork(BenchmarkLeafNodes.pos(0, 0));
+        this.middle = BenchmarkLeafNodes.pos(this.nodes / 2, 0);
+        this.middleNext = BenchmarkLeafNodes.pos(this.nodes / 2 + 1, 0);
+    }
+
+    @Benchmark
+    public void rebuildCaches() {
+        this.network.rebuildCaches();
+    }
+
+    /**
+     * Splits the line in half and merges it again, both halves carry leaf nodes that have to be relinked.
+     */
+    @Benchmark
+    public void splitAndMerge(Blackhole blackhole) {
+        this.logistics.remove(this.middle, this.middleNext);
+        this.network = this.logistics.add(this.middle, this.middleNext);
+        blackhole.consume(this.network);
+    }
+
+    /**
+     * One level tick of the extractor scheduler, each extractor extracts every extractionInterval() ticks.
+     */
+    @Benchmark
+    public void extractionTick() {
+        this.scheduler.tick();
+    }
+}
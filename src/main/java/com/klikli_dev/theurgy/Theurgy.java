@@ -5,6 +5,7 @@
 package com.klikli_dev.theurgy;
 
 import com.klikli_dev.modonomicon.client.render.page.PageRendererRegistry;
+import com.klikli_dev.theurgy.command.TheurgyCommands;
 import com.klikli_dev.theurgy.config.ClientConfig;
 import com.klikli_dev.theurgy.config.CommonConfig;
 import com.klikli_dev.theurgy.config.ServerConfig;
@@ -43,7 +44,10 @@ import com.klikli_dev.theurgy.logistics.Wires;
 import com.klikli_dev.theurgy.network.Networking;
 import com.klikli_dev.theurgy.network.messages.MessageOnLeftClickEmpty;
 import com.klikli_dev.theurgy.registry.*;
+import com.klikli_dev.theurgy.scanner.ScanIndex;
+import com.klikli_dev.theurgy.scanner.ScanManager;
 import com.klikli_dev.theurgy.tooltips.TooltipHandler;
+import com.klikli_dev.theurgy.util.ReloadGeneration;
 import com.klikli_dev.theurgy.util.ScrollHelper;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
@@ -113,6 +117,7 @@ public class Theurgy {
         RecipeResultRegistry.RECIPE_RESULT_TYPES.register(modEventBus);
         DataComponentRegistry.DATA_COMPONENTS.register(modEventBus);
         MenuTypeRegistry.MENU_TYPES.register(modEventBus);
+        AttachmentTypeRegistry.ATTACHMENT_TYPES.register(modEventBus);
 
         modEventBus.addListener(this::onCommonSetup);
         modEventBus.addListener(this::onServerSetup);
@@ -128,9 +133,15 @@ public class Theurgy {
 
         NeoForge.EVENT_BUS.addListener(TooltipHandler::onItemTooltipEvent);
         NeoForge.EVENT_BUS.addListener(Logistics::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(Logistics::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(TheurgyCommands::onRegisterCommands);
+        NeoForge.EVENT_BUS.addListener(ReloadGeneration::onTagsUpdated);
         NeoForge.EVENT_BUS.addListener(Wires::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(Wires::onChunkLoad);
+        NeoForge.EVENT_BUS.addListener(Wires::onChunkUnload);
         NeoForge.EVENT_BUS.addListener(WireSync.get()::onChunkWatch);
         NeoForge.EVENT_BUS.addListener(WireSync.get()::onChunkUnWatch);
+        NeoForge.EVENT_BUS.addListener(WireSync.get()::onServerTick);
 
         if (FMLEnvironment.dist == Dist.CLIENT) {
             modEventBus.addListener(ParticleRegistry::registerFactories);
@@ -152,6 +163,9 @@ public class Theurgy {
             NeoForge.EVENT_BUS.addListener(Client::onLeftClick);
             NeoForge.EVENT_BUS.addListener(Client::onLeftClickEmpty);
             NeoForge.EVENT_BUS.addListener(BlockHighlightRenderer::onRenderBlockHighlight);
+            NeoForge.EVENT_BUS.addListener(ScanIndex.get()::onChunkLoad);
+            NeoForge.EVENT_BUS.addListener(ScanIndex.get()::onChunkUnload);
+            NeoForge.EVENT_BUS.addListener(ScanManager.get()::onLevelUnload);
             NeoForge.EVENT_BUS.addListener(KeyMappingsRegistry::onKeyInput);
             NeoForge.EVENT_BUS.addListener(KeyMappingsRegistry::onMouseInput);
 
@@ -230,6 +244,9 @@ public class Theurgy {
         }
 
         public static void onRecipesUpdated(RecipesUpdatedEvent event) {
+            //the client keeps its recipe manager and replaces the recipes in it
+            ReloadGeneration.increment();
+
             //now disable rendering of sulfurs that have no recipe in modonomicon -> otherwise we see "no source" sulfurs in tag recipes
             //See also JeiPlugin.registerRecipes
             var liquefactionRecipes = event.getRecipeManager().getAllRecipesFor(RecipeTypeRegistry.LIQUEFACTION.get());
@@ -46,6 +46,10 @@ public class TheurgyConstants {
                 public static final String MERCURIAL_WAND_SET_SELECTED_FREQUENCY = PREFIX + "mercurial_wand.set_selected_frequency";
                 public static final String MERCURIAL_WAND_SET_SELECTED_FREQUENCY_WITH_TARGET = PREFIX + "mercurial_wand.set_selected_frequency.with_target";
                 public static final String MERCURIAL_WAND_SET_SELECTED_FREQUENCY_SUCCESS = PREFIX + "mercurial_wand.set_selected_frequency.success";
+
+                public static final String MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE = PREFIX + "mercurial_wand.cycle_distribution_mode";
+                public static final String MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE_WITH_TARGET = PREFIX + "mercurial_wand.cycle_distribution_mode.with_target";
+                public static final String MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE_SUCCESS = PREFIX + "mercurial_wand.cycle_distribution_mode.success";
             }
         }
 
@@ -81,6 +85,20 @@ public class TheurgyConstants {
             public static final String DIVINATION_ROD_ATTUNING_NOT_ALLOWED = PREFIX + "divination_rod.attuning_not_allowed";
         }
 
+        public static class Command {
+            private static final String PREFIX = "command." + Theurgy.MODID + ".";
+
+            public static final String LOGISTICS_STATS_EMPTY = PREFIX + "logistics.stats.empty";
+            public static final String LOGISTICS_STATS_DIMENSION = PREFIX + "logistics.stats.dimension";
+            public static final String LOGISTICS_STATS_THROUGHPUT = PREFIX + "logistics.stats.throughput";
+            public static final String LOGISTICS_STATS_STRUCTURE = PREFIX + "logistics.stats.structure";
+            public static final String LOGISTICS_STATS_TOP_EXTRACTORS = PREFIX + "logistics.stats.top_extractors";
+            public static final String LOGISTICS_STATS_EXTRACTOR = PREFIX + "logistics.stats.extractor";
+            public static final String LOGISTICS_STATS_DUMP = PREFIX + "logistics.stats.dump";
+            public static final String LOGISTICS_STATS_DUMP_FAILED = PREFIX + "logistics.stats.dump_failed";
+            public static final String LOGISTICS_STATS_RESET = PREFIX + "logistics.stats.reset";
+        }
+
         public static class JEI {
             public static final String PREFIX = Theurgy.MODID + ".jei.";
             public static final String CALCINATION_CATEGORY = PREFIX + "category.calcination";
@@ -126,6 +144,12 @@ public class TheurgyConstants {
 
             public static final String SELECTION_MODE_LOGISTICS_NODE = PREFIX + "selection.mode.logistics_node";
 
+            public static final String DISTRIBUTION_MODE_SINGLE_TARGET = PREFIX + "distribution_mode.single_target";
+            public static final String DISTRIBUTION_MODE_ROUND_ROBIN = PREFIX + "distribution_mode.round_robin";
+            public static final String DISTRIBUTION_MODE_EVEN_SPLIT = PREFIX + "distribution_mode.even_split";
+            public static final String DISTRIBUTION_MODE_WEIGHTED = PREFIX + "distribution_mode.weighted";
+            public static final String DISTRIBUTION_MODE_FILL_FIRST = PREFIX + "distribution_mode.fill_first";
+
             public static final String INTERACTION_FERMENTATION_VAT_NO_RECIPE = PREFIX + "interaction.fermentation_vat.no_recipe";
             public static final String INTERACTION_FERMENTATION_VAT_CLOSED = PREFIX + "interaction.fermentation_vat.closed";
 
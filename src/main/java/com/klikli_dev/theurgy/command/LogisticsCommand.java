@@ -0,0 +1,178 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.command;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.klikli_dev.theurgy.Theurgy;
+import com.klikli_dev.theurgy.TheurgyConstants;
+import com.klikli_dev.theurgy.content.behaviour.logistics.ExtractorNodeBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeMode;
+import com.klikli_dev.theurgy.logistics.Logistics;
+import com.klikli_dev.theurgy.logistics.LogisticsNetwork;
+import com.klikli_dev.theurgy.logistics.LogisticsStats;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.Util;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /theurgy logistics stats - shows the throughput counters of the logistics networks per dimension, and the most expensive extractors.
+ * /theurgy logistics stats dump - writes all counters per dimension, network and extractor as json into the debug folder.
+ * /theurgy logistics stats reset - resets all counters.
+ */
+public class LogisticsCommand {
+    private static final int TOP_EXTRACTORS = 5;
+
+    public static ArgumentBuilder<CommandSourceStack, ?> register() {
+        return Commands.literal("logistics")
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("stats")
+                        .executes(LogisticsCommand::stats)
+                        .then(Commands.literal("dump").executes(LogisticsCommand::dump))
+                        .then(Commands.literal("reset").executes(LogisticsCommand::reset))
+                );
+    }
+
+    private static int stats(CommandContext<CommandSourceStack> context) {
+        var source = context.getSource();
+        var networksByDimension = networksByDimension();
+        if (networksByDimension.isEmpty()) {
+            source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_EMPTY), false);
+            return 0;
+        }
+
+        var extractors = new ArrayList<ExtractorNodeBehaviour<?, ?>>();
+        networksByDimension.forEach((dimension, networks) -> {
+            var stats = new LogisticsStats();
+            int nodes = 0;
+            int extractorCount = 0;
+            for (var network : networks) {
+                stats.add(network.collectStats());
+                nodes += network.nodes().size();
+                for (var leafNode : network.leafNodes()) {
+                    if (leafNode.mode() == LeafNodeMode.EXTRACT) {
+                        extractors.add(leafNode.asExtractor());
+                        extractorCount++;
+                    }
+                }
+            }
+
+            var networkCount = networks.size();
+            var nodeCount = nodes;
+            var finalExtractorCount = extractorCount;
+            source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DIMENSION,
+                    dimension.location().toString(), networkCount, nodeCount, finalExtractorCount), false);
+            source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_THROUGHPUT,
+                    stats.itemsMoved(), stats.fluidMoved(), stats.extractions(), stats.idleExtractions(), stats.failedSimulations(), millis(stats.extractionNanos())), false);
+            source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_STRUCTURE,
+                    stats.merges(), stats.splits(), stats.relinks()), false);
+        });
+
+        if (!extractors.isEmpty()) {
+            source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_TOP_EXTRACTORS), false);
+            extractors.sort(Comparator.comparingLong((ExtractorNodeBehaviour<?, ?> e) -> e.stats().extractionNanos()).reversed());
+            for (var extractor : extractors.subList(0, Math.min(TOP_EXTRACTORS, extractors.size()))) {
+                var stats = extractor.stats();
+                source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_EXTRACTOR,
+                        extractor.globalPos().dimension().location().toString(), extractor.globalPos().pos().toShortString(),
+                        millis(stats.extractionNanos()), stats.extractions(), stats.itemsMoved(), stats.fluidMoved()), false);
+            }
+        }
+
+        return networksByDimension.size();
+    }
+
+    private static int dump(CommandContext<CommandSourceStack> context) {
+        var source = context.getSource();
+
+        var dimensions = new JsonArray();
+        networksByDimension().forEach((dimension, networks) -> {
+            var dimensionStats = new LogisticsStats();
+            var networksJson = new JsonArray();
+            for (var network : networks) {
+                var networkStats = network.collectStats();
+                dimensionStats.add(networkStats);
+
+                var extractorsJson = new JsonArray();
+                for (var leafNode : network.leafNodes()) {
+                    if (leafNode.mode() == LeafNodeMode.EXTRACT) {
+                        var pos = leafNode.globalPos().pos();
+                        var extractorJson = new JsonObject();
+                        extractorJson.addProperty("x", pos.getX());
+                        extractorJson.addProperty("y", pos.getY());
+                        extractorJson.addProperty("z", pos.getZ());
+                        extractorJson.addProperty("capability", leafNode.capabilityType().name().toString());
+                        extractorJson.addProperty("frequency", leafNode.frequency());
+                        extractorJson.add("stats", leafNode.asExtractor().stats().toJson());
+                        extractorsJson.add(extractorJson);
+                    }
+                }
+
+                var networkJson = new JsonObject();
+                networkJson.addProperty("id", network.id());
+                networkJson.addProperty("nodes", network.nodes().size());
+                networkJson.addProperty("leafNodes", network.leafNodes().size());
+                networkJson.add("stats", networkStats.toJson());
+                networkJson.add("extractors", extractorsJson);
+                networksJson.add(networkJson);
+            }
+
+            var dimensionJson = new JsonObject();
+            dimensionJson.addProperty("dimension", dimension.location().toString());
+            dimensionJson.add("stats", dimensionStats.toJson());
+            dimensionJson.add("networks", networksJson);
+            dimensions.add(dimensionJson);
+        });
+
+        var json = new JsonObject();
+        json.addProperty("gameTime", source.getServer().overworld().getGameTime());
+        json.add("dimensions", dimensions);
+
+        var path = source.getServer().getServerDirectory().resolve("debug").resolve(Theurgy.MODID + "-logistics-stats-" + Util.getFilenameFormattedDateTime() + ".json");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, new GsonBuilder().setPrettyPrinting().create().toJson(json));
+        } catch (IOException e) {
+            Theurgy.LOGGER.error("Failed to write logistics stats to {}", path, e);
+            source.sendFailure(Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DUMP_FAILED, e.getMessage()));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DUMP, path.toString()), false);
+        return 1;
+    }
+
+    private static int reset(CommandContext<CommandSourceStack> context) {
+        Logistics.get().resetStats();
+        context.getSource().sendSuccess(() -> Component.translatable(TheurgyConstants.I18n.Command.LOGISTICS_STATS_RESET), true);
+        return 1;
+    }
+
+    private static Map<ResourceKey<Level>, List<LogisticsNetwork>> networksByDimension() {
+        Map<ResourceKey<Level>, List<LogisticsNetwork>> result = new TreeMap<>(Comparator.comparing(ResourceKey::location));
+        for (var network : Logistics.get().networks()) {
+            result.computeIfAbsent(network.dimension(), k -> new ArrayList<>()).add(network);
+        }
+        return result;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,21 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.command;
+
+import com.klikli_dev.theurgy.Theurgy;
+import net.minecraft.commands.Commands;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+/**
+ * Registers the /theurgy command tree.
+ */
+public class TheurgyCommands {
+
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal(Theurgy.MODID)
+                .then(LogisticsCommand.register())
+        );
+    }
+}
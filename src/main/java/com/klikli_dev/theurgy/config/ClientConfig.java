@@ -30,6 +30,7 @@ public class ClientConfig {
         public final BooleanValue renderSulfurSourceItem;
         public final BooleanValue enableItemHUD;
         public final ModConfigSpec.DoubleValue itemHUDScale;
+        public final ModConfigSpec.IntValue wireRenderDistance;
 
         public Rendering(ModConfigSpec.Builder builder) {
             builder.comment("Rendering Settings").push("rendering");
@@ -47,6 +48,11 @@ public class ClientConfig {
                     .comment("The scale of the Item HUD text (e.g. for the mercurial wand).")
                     .defineInRange("hudScale", 0.7, 0.25, 3);
 
+            this.wireRenderDistance = builder
+                    .comment("The distance (in blocks) up to which logistics wires are rendered.",
+                            "Wires further away than half this distance are rendered with less detail.")
+                    .defineInRange("wireRenderDistance", 96, 16, 512);
+
             builder.pop();
         }
     }
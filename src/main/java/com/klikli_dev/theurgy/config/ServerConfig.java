@@ -16,11 +16,13 @@ public class ServerConfig {
 
     private static final ServerConfig instance = new ServerConfig();
     public final Recipes recipes;
+    public final Logistics logistics;
     public final ModConfigSpec spec;
 
     private ServerConfig() {
         ModConfigSpec.Builder builder = new ModConfigSpec.Builder();
         this.recipes = new Recipes(builder);
+        this.logistics = new Logistics(builder);
         this.spec = builder.build();
     }
 
@@ -51,4 +53,26 @@ public class ServerConfig {
             builder.pop();
         }
     }
+
+    public static class Logistics {
+
+        public final ModConfigSpec.IntValue fluidExtractorTransferRate;
+        public final ModConfigSpec.IntValue fluidExtractorInterval;
+
+        public Logistics(ModConfigSpec.Builder builder) {
+            builder.comment("Logistics Settings").push("logistics");
+
+            this.fluidExtractorTransferRate = builder
+                    .comment("The amount of fluid (in mB per tick) each logistics fluid extractor can move.",
+                            "The fluid is moved in batches every fluidExtractorInterval ticks, so each batch is fluidExtractorTransferRate * fluidExtractorInterval mB.")
+                    .defineInRange("fluidExtractorTransferRate", 50, 1, 100000);
+
+            this.fluidExtractorInterval = builder
+                    .comment("The number of ticks between two extractions of a logistics fluid extractor.",
+                            "Lower values spread the transfer more evenly over time, higher values move larger batches less often, which is cheaper for the server.")
+                    .defineInRange("fluidExtractorInterval", 10, 1, 100);
+
+            builder.pop();
+        }
+    }
 }
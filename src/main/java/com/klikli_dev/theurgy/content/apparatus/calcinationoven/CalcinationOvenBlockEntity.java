@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.calcinationoven;
 
 import com.klikli_dev.theurgy.content.behaviour.animation.AnimationBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.heat.HeatConsumerBehaviour;
 import com.klikli_dev.theurgy.content.capability.DefaultHeatReceiver;
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
@@ -24,7 +26,7 @@ import software.bernie.geckolib.animation.AnimatableManager;
 import software.bernie.geckolib.animation.AnimationController;
 
 
-public class CalcinationOvenBlockEntity extends BlockEntity implements GeoBlockEntity {
+public class CalcinationOvenBlockEntity extends BlockEntity implements GeoBlockEntity, HasDormancyBehaviour {
 
     public DefaultHeatReceiver heatReceiver;
 
@@ -33,6 +35,7 @@ public class CalcinationOvenBlockEntity extends BlockEntity implements GeoBlockE
 
     protected CalcinationCraftingBehaviour craftingBehaviour;
     protected HeatConsumerBehaviour heatConsumerBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
     protected AnimationBehaviour<?> animationBehaviour;
 
 
@@ -41,10 +44,11 @@ public class CalcinationOvenBlockEntity extends BlockEntity implements GeoBlockE
 
         this.storageBehaviour = new CalcinationStorageBehaviour(this, () -> this.craftingBehaviour);
 
-        this.heatReceiver = new DefaultHeatReceiver();
+        this.heatReceiver = new DefaultHeatReceiver(() -> this.dormancyBehaviour.wake());
 
         this.craftingBehaviour = new CalcinationCraftingBehaviour(this, () -> this.storageBehaviour.inputInventory, () -> this.storageBehaviour.outputInventory);
         this.heatConsumerBehaviour = new HeatConsumerBehaviour(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
         this.animationBehaviour = new CalcinationAnimationBehaviour(this);
     }
 
@@ -89,6 +93,15 @@ public class CalcinationOvenBlockEntity extends BlockEntity implements GeoBlockE
         boolean hasInput = !this.storageBehaviour.inputInventory.getStackInSlot(0).isEmpty();
 
         this.craftingBehaviour.tickServer(isHeated, hasInput);
+
+        //with nothing to do we stop ticking until inventory, heat or neighbor changes wake us
+        if (!this.craftingBehaviour.isProcessing() && this.heatConsumerBehaviour.canSleep())
+            this.dormancyBehaviour.sleep();
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     @Override
@@ -91,6 +91,7 @@ public class CalcinationStorageBehaviour extends StorageBehaviour<CalcinationSto
         @Override
         protected void onContentsChanged(int slot) {
             CalcinationStorageBehaviour.this.setChanged();
+            CalcinationStorageBehaviour.this.craftingBehaviour.get().onInputContentsChanged();
         }
     }
 
@@ -109,6 +110,7 @@ public class CalcinationStorageBehaviour extends StorageBehaviour<CalcinationSto
         @Override
         protected void onContentsChanged(int slot) {
             CalcinationStorageBehaviour.this.setChanged();
+            CalcinationStorageBehaviour.this.craftingBehaviour.get().onOutputContentsChanged();
         }
     }
 }
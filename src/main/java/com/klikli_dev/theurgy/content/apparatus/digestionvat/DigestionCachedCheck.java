@@ -5,6 +5,7 @@
 package com.klikli_dev.theurgy.content.apparatus.digestionvat;
 
 import com.klikli_dev.theurgy.content.recipe.DigestionRecipe;
+import com.klikli_dev.theurgy.content.recipe.RecipeIndex;
 import com.klikli_dev.theurgy.content.recipe.input.ItemHandlerWithFluidRecipeInput;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
@@ -15,6 +16,7 @@ import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.fluids.FluidStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,6 +34,10 @@ public class DigestionCachedCheck implements RecipeManager.CachedCheck<ItemHandl
         this.internal = RecipeManager.createCheck(type);
     }
 
+    private RecipeIndex<DigestionRecipe> index(RecipeManager recipeManager) {
+        return RecipeIndex.get(recipeManager, this.type, DigestionRecipe::getIngredients, recipe -> List.of(recipe.getFluid().ingredient()));
+    }
+
     private Optional<RecipeHolder<DigestionRecipe>> getRecipeFor(ItemStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
         var recipeManager = level.getRecipeManager();
         if (lastRecipe != null) {
@@ -43,7 +49,7 @@ public class DigestionCachedCheck implements RecipeManager.CachedCheck<ItemHandl
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().getIngredients().stream().anyMatch(i -> i.test(stack))).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.getIngredients().stream().anyMatch(i -> i.test(stack)));
     }
 
     private Optional<RecipeHolder<DigestionRecipe>> getRecipeFor(FluidStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
@@ -57,7 +63,7 @@ public class DigestionCachedCheck implements RecipeManager.CachedCheck<ItemHandl
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().getFluid().test(stack)).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.getFluid().test(stack));
     }
 
     /**
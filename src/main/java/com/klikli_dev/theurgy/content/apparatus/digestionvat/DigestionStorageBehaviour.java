@@ -112,6 +112,7 @@ public class DigestionStorageBehaviour extends StorageBehaviour<DigestionStorage
         protected void onContentsChanged() {
             //on any content change mark for saving to disk
             DigestionStorageBehaviour.this.setChanged();
+            DigestionStorageBehaviour.this.craftingBehaviour.get().onFluidContentsChanged();
         }
 
         @Override
@@ -149,6 +150,7 @@ public class DigestionStorageBehaviour extends StorageBehaviour<DigestionStorage
         @Override
         protected void onContentsChanged(int slot) {
             DigestionStorageBehaviour.this.setChanged();
+            DigestionStorageBehaviour.this.craftingBehaviour.get().onInputContentsChanged();
         }
     }
 
@@ -170,6 +172,7 @@ public class DigestionStorageBehaviour extends StorageBehaviour<DigestionStorage
         @Override
         protected void onContentsChanged(int slot) {
             DigestionStorageBehaviour.this.setChanged();
+            DigestionStorageBehaviour.this.craftingBehaviour.get().onOutputContentsChanged();
         }
     }
 }
@@ -4,6 +4,7 @@
 
 package com.klikli_dev.theurgy.content.apparatus.digestionvat;
 
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.fluidhandler.FluidHandlerBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.fluidhandler.OneTankFluidHandlerBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.interaction.InteractionBehaviour;
@@ -93,6 +94,9 @@ public class DigestionVatBlock extends Block implements EntityBlock {
     @Override
     public void neighborChanged(@NotNull BlockState pState, @NotNull Level pLevel, @NotNull BlockPos pPos, @NotNull Block pBlock, @NotNull BlockPos pFromPos, boolean pIsMoving) {
         this.redstoneInputBehaviour.neighborChanged(pState, pLevel, pPos, pBlock, pFromPos, pIsMoving);
+
+        //the vat may have to close due to a redstone signal
+        DormancyBehaviour.wake(pLevel, pPos);
     }
 
     @SuppressWarnings("deprecation")
@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.digestionvat;
 
 import com.klikli_dev.theurgy.content.behaviour.crafting.HasCraftingBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.redstone.VatRedstoneAutoCloseBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.storage.HasStorageBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.storage.StorageBehaviour;
@@ -25,10 +27,11 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import org.jetbrains.annotations.Nullable;
 
-public class DigestionVatBlockEntity extends BlockEntity implements HasCraftingBehaviour<ItemHandlerWithFluidRecipeInput, DigestionRecipe, DigestionCachedCheck>, HasStorageBehaviour<DigestionStorageBehaviour> {
+public class DigestionVatBlockEntity extends BlockEntity implements HasCraftingBehaviour<ItemHandlerWithFluidRecipeInput, DigestionRecipe, DigestionCachedCheck>, HasStorageBehaviour<DigestionStorageBehaviour>, HasDormancyBehaviour {
 
     public DigestionCraftingBehaviour craftingBehaviour;
     public DigestionStorageBehaviour storageBehaviour;
+    public DormancyBehaviour dormancyBehaviour;
     public VatRedstoneAutoCloseBehaviour<DigestionRecipe> redstoneBehaviour;
 
     public DigestionVatBlockEntity(BlockPos pPos, BlockState pBlockState) {
@@ -39,6 +42,7 @@ public class DigestionVatBlockEntity extends BlockEntity implements HasCraftingB
         this.craftingBehaviour = new DigestionCraftingBehaviour(this, () -> this.storageBehaviour.inputInventory, () -> this.storageBehaviour.outputInventory, () -> this.storageBehaviour.fluidTank);
 
         this.redstoneBehaviour = new VatRedstoneAutoCloseBehaviour<>(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
     }
 
     @Override
@@ -87,9 +91,18 @@ public class DigestionVatBlockEntity extends BlockEntity implements HasCraftingB
 
         if (!this.craftingBehaviour.isProcessing() && !isOpen) {
             this.level.setBlock(this.getBlockPos(), this.getBlockState().setValue(BlockStateProperties.OPEN, true), Block.UPDATE_CLIENTS);
+        } else if (isOpen && (!hasInput || !this.redstoneBehaviour.hasSignal())) {
+            //an open vat only closes on interaction, redstone changes or auto close, which needs input and a signal.
+            //so we stop ticking until inventory, tank or neighbor changes wake us
+            this.dormancyBehaviour.sleep();
         }
     }
 
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
+    }
+
     public Direction getDirection() {
         return this.getBlockState().getValue(BlockStateProperties.HORIZONTAL_FACING);
     }
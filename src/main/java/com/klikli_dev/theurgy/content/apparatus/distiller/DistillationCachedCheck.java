@@ -5,6 +5,7 @@
 package com.klikli_dev.theurgy.content.apparatus.distiller;
 
 import com.klikli_dev.theurgy.content.recipe.DistillationRecipe;
+import com.klikli_dev.theurgy.content.recipe.RecipeIndex;
 import com.klikli_dev.theurgy.content.recipe.input.ItemHandlerRecipeInput;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.resources.ResourceLocation;
@@ -16,6 +17,7 @@ import net.minecraft.world.level.Level;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,6 +35,10 @@ class DistillationCachedCheck implements RecipeManager.CachedCheck<ItemHandlerRe
         this.internal = RecipeManager.createCheck(type);
     }
 
+    private RecipeIndex<DistillationRecipe> index(RecipeManager recipeManager) {
+        return RecipeIndex.get(recipeManager, this.type, recipe -> List.of(recipe.getIngredient().ingredient()), recipe -> List.of());
+    }
+
     private Optional<RecipeHolder<DistillationRecipe>> getRecipeFor(ItemStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
         var recipeManager = level.getRecipeManager();
         if (lastRecipe != null) {
@@ -45,7 +51,7 @@ class DistillationCachedCheck implements RecipeManager.CachedCheck<ItemHandlerRe
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().getIngredient().test(stack)).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.getIngredient().test(stack));
     }
 
     /**
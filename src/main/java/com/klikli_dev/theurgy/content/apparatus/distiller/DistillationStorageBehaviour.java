@@ -87,6 +87,7 @@ public class DistillationStorageBehaviour extends StorageBehaviour<DistillationS
         @Override
         protected void onContentsChanged(int slot) {
             DistillationStorageBehaviour.this.setChanged();
+            DistillationStorageBehaviour.this.craftingBehaviour.get().onInputContentsChanged();
         }
     }
 
@@ -105,6 +106,7 @@ public class DistillationStorageBehaviour extends StorageBehaviour<DistillationS
         @Override
         protected void onContentsChanged(int slot) {
             DistillationStorageBehaviour.this.setChanged();
+            DistillationStorageBehaviour.this.craftingBehaviour.get().onOutputContentsChanged();
         }
     }
 }
@@ -4,6 +4,7 @@
 
 package com.klikli_dev.theurgy.content.apparatus.distiller;
 
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.itemhandler.ItemHandlerBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.itemhandler.TwoSlotItemHandlerBehaviour;
 import com.klikli_dev.theurgy.content.recipe.input.ItemHandlerRecipeInput;
@@ -147,6 +148,15 @@ public class DistillerBlock extends Block implements EntityBlock {
         return ItemInteractionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
     }
 
+    @Override
+    @SuppressWarnings("deprecation")
+    public void neighborChanged(BlockState pState, Level pLevel, BlockPos pPos, Block pBlock, BlockPos pFromPos, boolean pIsMoving) {
+        super.neighborChanged(pState, pLevel, pPos, pBlock, pFromPos, pIsMoving);
+
+        //e.g. a heat source below was lit
+        DormancyBehaviour.wake(pLevel, pPos);
+    }
+
     @Override
     @SuppressWarnings("deprecation")
     public void onRemove(BlockState pState, Level pLevel, BlockPos pPos, BlockState pNewState, boolean pIsMoving) {
@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.distiller;
 
 import com.klikli_dev.theurgy.content.behaviour.animation.AnimationBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.heat.HeatConsumerBehaviour;
 import com.klikli_dev.theurgy.content.capability.DefaultHeatReceiver;
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
@@ -24,7 +26,7 @@ import software.bernie.geckolib.animation.AnimatableManager;
 import software.bernie.geckolib.animation.AnimationController;
 
 
-public class DistillerBlockEntity extends BlockEntity implements GeoBlockEntity {
+public class DistillerBlockEntity extends BlockEntity implements GeoBlockEntity, HasDormancyBehaviour {
 
     public DefaultHeatReceiver heatReceiver;
 
@@ -32,6 +34,7 @@ public class DistillerBlockEntity extends BlockEntity implements GeoBlockEntity
 
     protected DistillationCraftingBehaviour craftingBehaviour;
     protected HeatConsumerBehaviour heatConsumerBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
     protected AnimationBehaviour<?> animationBehaviour;
 
     public DistillerBlockEntity(BlockPos pPos, BlockState pBlockState) {
@@ -40,10 +43,11 @@ public class DistillerBlockEntity extends BlockEntity implements GeoBlockEntity
 
         this.storageBehaviour = new DistillationStorageBehaviour(this, () -> this.craftingBehaviour);
 
-        this.heatReceiver = new DefaultHeatReceiver();
+        this.heatReceiver = new DefaultHeatReceiver(() -> this.dormancyBehaviour.wake());
 
         this.craftingBehaviour = new DistillationCraftingBehaviour(this, () -> this.storageBehaviour.inputInventory, () -> this.storageBehaviour.outputInventory);
         this.heatConsumerBehaviour = new HeatConsumerBehaviour(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
         this.animationBehaviour = new DistillerAnimationBehaviour(this);
     }
 
@@ -88,6 +92,15 @@ public class DistillerBlockEntity extends BlockEntity implements GeoBlockEntity
         boolean hasInput = !this.storageBehaviour.inputInventory.getStackInSlot(0).isEmpty();
 
         this.craftingBehaviour.tickServer(isHeated, hasInput);
+
+        //with nothing to do we stop ticking until inventory, heat or neighbor changes wake us
+        if (!this.craftingBehaviour.isProcessing() && this.heatConsumerBehaviour.canSleep())
+            this.dormancyBehaviour.sleep();
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     @Override
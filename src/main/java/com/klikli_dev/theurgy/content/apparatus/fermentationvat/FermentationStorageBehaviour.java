@@ -114,6 +114,7 @@ public class FermentationStorageBehaviour extends StorageBehaviour<FermentationS
         protected void onContentsChanged() {
             //on any content change mark for saving to disk
             FermentationStorageBehaviour.this.setChanged();
+            FermentationStorageBehaviour.this.craftingBehaviour.get().onFluidContentsChanged();
         }
 
         @Override
@@ -151,6 +152,7 @@ public class FermentationStorageBehaviour extends StorageBehaviour<FermentationS
         @Override
         protected void onContentsChanged(int slot) {
             FermentationStorageBehaviour.this.setChanged();
+            FermentationStorageBehaviour.this.craftingBehaviour.get().onInputContentsChanged();
         }
     }
 
@@ -178,6 +180,7 @@ public class FermentationStorageBehaviour extends StorageBehaviour<FermentationS
         @Override
         protected void onContentsChanged(int slot) {
             FermentationStorageBehaviour.this.setChanged();
+            FermentationStorageBehaviour.this.craftingBehaviour.get().onOutputContentsChanged();
         }
     }
 }
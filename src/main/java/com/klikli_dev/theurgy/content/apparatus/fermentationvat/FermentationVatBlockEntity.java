@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.fermentationvat;
 
 import com.klikli_dev.theurgy.content.behaviour.crafting.HasCraftingBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.redstone.VatRedstoneAutoCloseBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.storage.HasStorageBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.storage.StorageBehaviour;
@@ -25,10 +27,11 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import org.jetbrains.annotations.Nullable;
 
-public class FermentationVatBlockEntity extends BlockEntity implements HasCraftingBehaviour<ItemHandlerWithFluidRecipeInput, FermentationRecipe, FermentationCachedCheck>, HasStorageBehaviour<FermentationStorageBehaviour> {
+public class FermentationVatBlockEntity extends BlockEntity implements HasCraftingBehaviour<ItemHandlerWithFluidRecipeInput, FermentationRecipe, FermentationCachedCheck>, HasStorageBehaviour<FermentationStorageBehaviour>, HasDormancyBehaviour {
 
     public FermentationStorageBehaviour storageBehaviour;
     public FermentationCraftingBehaviour craftingBehaviour;
+    public DormancyBehaviour dormancyBehaviour;
     public VatRedstoneAutoCloseBehaviour<DigestionRecipe> redstoneBehaviour;
 
     public FermentationVatBlockEntity(BlockPos pPos, BlockState pBlockState) {
@@ -38,6 +41,7 @@ public class FermentationVatBlockEntity extends BlockEntity implements HasCrafti
 
         this.craftingBehaviour = new FermentationCraftingBehaviour(this, () -> this.storageBehaviour.inputInventory, () -> this.storageBehaviour.outputInventory, () -> this.storageBehaviour.fluidTank);
         this.redstoneBehaviour = new VatRedstoneAutoCloseBehaviour<>(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
     }
 
     @Override
@@ -86,9 +90,18 @@ public class FermentationVatBlockEntity extends BlockEntity implements HasCrafti
 
         if (!this.craftingBehaviour.isProcessing() && !isOpen) {
             this.level.setBlock(this.getBlockPos(), this.getBlockState().setValue(BlockStateProperties.OPEN, true), Block.UPDATE_CLIENTS);
+        } else if (isOpen && (!hasInput || !this.redstoneBehaviour.hasSignal())) {
+            //an open vat only closes on interaction, redstone changes or auto close, which needs input and a signal.
+            //so we stop ticking until inventory, tank or neighbor changes wake us
+            this.dormancyBehaviour.sleep();
         }
     }
 
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
+    }
+
     public boolean hasInput() {
         for (int i = 0; i < this.storageBehaviour.inputInventory.getSlots(); i++) {
             if (!this.storageBehaviour.inputInventory.getStackInSlot(i).isEmpty()) {
@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.incubator;
 
 import com.klikli_dev.theurgy.content.behaviour.crafting.CraftingBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.heat.HeatConsumerBehaviour;
 import com.klikli_dev.theurgy.content.capability.DefaultHeatReceiver;
 import com.klikli_dev.theurgy.content.recipe.input.IncubatorRecipeInput;
@@ -28,7 +30,7 @@ import net.neoforged.neoforge.items.ItemStackHandler;
 import org.jetbrains.annotations.Nullable;
 
 
-public class IncubatorBlockEntity extends BlockEntity {
+public class IncubatorBlockEntity extends BlockEntity implements HasDormancyBehaviour {
     public IncubatorMercuryVesselBlockEntity mercuryVessel;
     public IncubatorSulfurVesselBlockEntity sulfurVessel;
     public IncubatorSaltVesselBlockEntity saltVessel;
@@ -50,6 +52,7 @@ public class IncubatorBlockEntity extends BlockEntity {
 
     protected CraftingBehaviour<?, ?, ?> craftingBehaviour;
     protected HeatConsumerBehaviour heatConsumerBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
     protected boolean checkValidMultiblockOnNextQuery;
 
     public IncubatorBlockEntity(BlockPos pPos, BlockState pBlockState) {
@@ -59,10 +62,11 @@ public class IncubatorBlockEntity extends BlockEntity {
         this.outputInventoryTakeOnlyWrapper = new PreventInsertWrapper(this.outputInventory);
         this.checkValidMultiblockOnNextQuery = true;
 
-        this.heatReceiver = new DefaultHeatReceiver();
+        this.heatReceiver = new DefaultHeatReceiver(() -> this.dormancyBehaviour.wake());
 
         this.craftingBehaviour = new IncubatorCraftingBehaviour(this, () -> this.ItemHandlerRecipeInput, () -> null, () -> this.outputInventory);
         this.heatConsumerBehaviour = new HeatConsumerBehaviour(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
     }
 
     public void sendBlockUpdated() {
@@ -118,6 +122,15 @@ public class IncubatorBlockEntity extends BlockEntity {
                 && !this.sulfurVessel.inputInventory.getStackInSlot(0).isEmpty();
 
         this.craftingBehaviour.tickServer(isHeated, hasInput);
+
+        //with nothing to do we stop ticking until inventory, heat or neighbor changes wake us
+        if (!this.craftingBehaviour.isProcessing() && this.heatConsumerBehaviour.canSleep())
+            this.dormancyBehaviour.sleep();
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     public void tickClient() {
@@ -248,6 +261,7 @@ public class IncubatorBlockEntity extends BlockEntity {
         @Override
         protected void onContentsChanged(int slot) {
             IncubatorBlockEntity.this.setChanged();
+            IncubatorBlockEntity.this.craftingBehaviour.onOutputContentsChanged();
         }
     }
 }
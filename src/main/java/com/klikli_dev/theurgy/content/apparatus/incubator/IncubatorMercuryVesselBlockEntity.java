@@ -129,6 +129,8 @@ public class IncubatorMercuryVesselBlockEntity extends BlockEntity implements Ge
         @Override
         protected void onContentsChanged(int slot) {
             IncubatorMercuryVesselBlockEntity.this.setChanged();
+            if (IncubatorMercuryVesselBlockEntity.this.incubator != null)
+                IncubatorMercuryVesselBlockEntity.this.incubator.craftingBehaviour.onInputContentsChanged();
         }
     }
 }
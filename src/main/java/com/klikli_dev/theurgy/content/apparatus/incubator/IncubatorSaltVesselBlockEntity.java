@@ -130,6 +130,8 @@ public class IncubatorSaltVesselBlockEntity extends BlockEntity implements GeoBl
         @Override
         protected void onContentsChanged(int slot) {
             IncubatorSaltVesselBlockEntity.this.setChanged();
+            if (IncubatorSaltVesselBlockEntity.this.incubator != null)
+                IncubatorSaltVesselBlockEntity.this.incubator.craftingBehaviour.onInputContentsChanged();
         }
     }
 }
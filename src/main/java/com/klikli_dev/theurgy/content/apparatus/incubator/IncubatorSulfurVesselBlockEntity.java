@@ -130,6 +130,8 @@ public class IncubatorSulfurVesselBlockEntity extends BlockEntity implements Geo
         @Override
         protected void onContentsChanged(int slot) {
             IncubatorSulfurVesselBlockEntity.this.setChanged();
+            if (IncubatorSulfurVesselBlockEntity.this.incubator != null)
+                IncubatorSulfurVesselBlockEntity.this.incubator.craftingBehaviour.onInputContentsChanged();
         }
     }
 }
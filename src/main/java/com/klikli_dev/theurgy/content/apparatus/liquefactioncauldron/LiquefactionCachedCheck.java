@@ -5,6 +5,7 @@
 package com.klikli_dev.theurgy.content.apparatus.liquefactioncauldron;
 
 import com.klikli_dev.theurgy.content.recipe.LiquefactionRecipe;
+import com.klikli_dev.theurgy.content.recipe.RecipeIndex;
 import com.klikli_dev.theurgy.content.recipe.input.ItemHandlerWithFluidRecipeInput;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
@@ -14,6 +15,7 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,6 +33,10 @@ class LiquefactionCachedCheck implements RecipeManager.CachedCheck<ItemHandlerWi
         this.internal = RecipeManager.createCheck(type);
     }
 
+    private RecipeIndex<LiquefactionRecipe> index(RecipeManager recipeManager) {
+        return RecipeIndex.get(recipeManager, this.type, recipe -> List.of(recipe.getIngredient()), recipe -> List.of());
+    }
+
     private Optional<RecipeHolder<LiquefactionRecipe>> getRecipeFor(ItemStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
         var recipeManager = level.getRecipeManager();
         if (lastRecipe != null) {
@@ -42,7 +48,7 @@ class LiquefactionCachedCheck implements RecipeManager.CachedCheck<ItemHandlerWi
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().getIngredient().test(stack)).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.getIngredient().test(stack));
     }
 
     /**
@@ -4,6 +4,8 @@
 
 package com.klikli_dev.theurgy.content.apparatus.liquefactioncauldron;
 
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.heat.HeatConsumerBehaviour;
 import com.klikli_dev.theurgy.content.capability.DefaultHeatReceiver;
 import com.klikli_dev.theurgy.content.particle.ParticleColor;
@@ -22,7 +24,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
 
-public class LiquefactionCauldronBlockEntity extends BlockEntity {
+public class LiquefactionCauldronBlockEntity extends BlockEntity implements HasDormancyBehaviour {
 
     public DefaultHeatReceiver heatReceiver;
 
@@ -30,6 +32,7 @@ public class LiquefactionCauldronBlockEntity extends BlockEntity {
 
     protected LiquefactionCraftingBehaviour craftingBehaviour;
     protected HeatConsumerBehaviour heatConsumerBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
 
     public LiquefactionCauldronBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(BlockEntityRegistry.LIQUEFACTION_CAULDRON.get(), pPos, pBlockState);
@@ -37,10 +40,11 @@ public class LiquefactionCauldronBlockEntity extends BlockEntity {
 
         this.storageBehaviour = new LiquefactionStorageBehaviour(this, () -> this.craftingBehaviour);
 
-        this.heatReceiver = new DefaultHeatReceiver();
+        this.heatReceiver = new DefaultHeatReceiver(() -> this.dormancyBehaviour.wake());
 
         this.craftingBehaviour = new LiquefactionCraftingBehaviour(this, () -> this.storageBehaviour.inputInventory, () -> this.storageBehaviour.outputInventory, () -> this.storageBehaviour.solventTank);
         this.heatConsumerBehaviour = new HeatConsumerBehaviour(this);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
     }
 
     @Override
@@ -89,6 +93,15 @@ public class LiquefactionCauldronBlockEntity extends BlockEntity {
         boolean hasInput = !this.storageBehaviour.inputInventory.getStackInSlot(0).isEmpty();
 
         this.craftingBehaviour.tickServer(isHeated, hasInput);
+
+        //with nothing to do we stop ticking until inventory, heat or neighbor changes wake us
+        if (!this.craftingBehaviour.isProcessing() && this.heatConsumerBehaviour.canSleep())
+            this.dormancyBehaviour.sleep();
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     public void tickClient() {
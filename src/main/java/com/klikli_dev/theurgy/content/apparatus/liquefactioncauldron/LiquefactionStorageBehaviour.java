@@ -85,6 +85,7 @@ public class LiquefactionStorageBehaviour extends StorageBehaviour<LiquefactionS
         protected void onContentsChanged() {
             LiquefactionStorageBehaviour.this.setChanged();
             LiquefactionStorageBehaviour.this.sendBlockUpdated();
+            LiquefactionStorageBehaviour.this.craftingBehaviour.get().onFluidContentsChanged();
         }
     }
 
@@ -110,6 +111,7 @@ public class LiquefactionStorageBehaviour extends StorageBehaviour<LiquefactionS
         @Override
         protected void onContentsChanged(int slot) {
             LiquefactionStorageBehaviour.this.setChanged();
+            LiquefactionStorageBehaviour.this.craftingBehaviour.get().onInputContentsChanged();
         }
     }
 
@@ -128,6 +130,7 @@ public class LiquefactionStorageBehaviour extends StorageBehaviour<LiquefactionS
         @Override
         protected void onContentsChanged(int slot) {
             LiquefactionStorageBehaviour.this.setChanged();
+            LiquefactionStorageBehaviour.this.craftingBehaviour.get().onOutputContentsChanged();
         }
     }
 }
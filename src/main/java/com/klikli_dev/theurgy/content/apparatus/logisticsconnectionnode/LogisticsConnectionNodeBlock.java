@@ -70,10 +70,9 @@ public class LogisticsConnectionNodeBlock extends DirectionalBlock implements Ha
             var connected = Logistics.get().getNetwork(GlobalPos.of(pLevel.dimension(), pPos));
 
             if(connected != null){
-                for (var block : connected.nodes()) {
-                    if (block.dimension().equals(pLevel.dimension())) {
-                        result.add(Pair.of(block.pos(), 0xFFFFF00));
-                    }
+                //networks never span dimensions, so all nodes are in the current level
+                for (var iterator = connected.nodes().iterator(); iterator.hasNext(); ) {
+                    result.add(Pair.of(BlockPos.of(iterator.nextLong()), 0xFFFFF00));
                 }
                 Networking.sendTo((ServerPlayer) pPlayer, new MessageShowLogisticsNodeStatus(result));
 
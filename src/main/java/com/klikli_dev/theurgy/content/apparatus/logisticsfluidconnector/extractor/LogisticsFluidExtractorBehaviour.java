@@ -4,6 +4,7 @@
 
 package com.klikli_dev.theurgy.content.apparatus.logisticsfluidconnector.extractor;
 
+import com.klikli_dev.theurgy.config.ServerConfig;
 import com.klikli_dev.theurgy.content.behaviour.filter.Filter;
 import com.klikli_dev.theurgy.content.behaviour.logistics.ExtractorNodeBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeBehaviour;
@@ -11,23 +12,16 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.capability.IFluidHandler;
-import net.neoforged.neoforge.items.IItemHandler;
-import net.neoforged.neoforge.items.ItemHandlerHelper;
 import org.jetbrains.annotations.Nullable;
 
 public class LogisticsFluidExtractorBehaviour extends ExtractorNodeBehaviour<IFluidHandler, @Nullable Direction> {
 
-    public static final int EXTRACTION_EVERY_N_TICKS = 20; // 1 second
-    public static final int MAX_EXTRACTION_AMOUNT = 100; //how many items to extract per extraction tick
-    private final int slowTickRandomOffset = (int) (Math.random() * 20);
-    private int extractionAmount = MAX_EXTRACTION_AMOUNT;
     private Direction directionOverride = null;
     private boolean enabled = true;
 
@@ -35,6 +29,19 @@ public class LogisticsFluidExtractorBehaviour extends ExtractorNodeBehaviour<IFl
         super(blockEntity, Capabilities.FluidHandler.BLOCK);
     }
 
+    /**
+     * The amount of the given fluid (in mB) the handler can still hold: the free space of empty tanks that accept the fluid and of tanks holding the same fluid.
+     */
+    protected static int freeSpace(IFluidHandler handler, FluidStack stack) {
+        long free = 0;
+        for (int tank = 0; tank < handler.getTanks(); tank++) {
+            var existing = handler.getFluidInTank(tank);
+            if (existing.isEmpty() ? handler.isFluidValid(tank, stack) : FluidStack.isSameFluidSameComponents(existing, stack))
+                free += Math.max(0, handler.getTankCapacity(tank) - existing.getAmount());
+        }
+        return (int) Math.min(free, Integer.MAX_VALUE);
+    }
+
     @Override
     protected boolean isValidInsertTarget(LeafNodeBehaviour<IFluidHandler, @Nullable Direction> leafNode, BlockCapabilityCache<IFluidHandler, @Nullable Direction> capability) {
         //any target we get is guaranteed to exist and have a fluid capability, so we just return true here.
@@ -53,6 +60,9 @@ public class LogisticsFluidExtractorBehaviour extends ExtractorNodeBehaviour<IFl
 
     public void enabled(boolean enabled) {
         this.enabled = enabled;
+        if (enabled) {
+            this.wakeUp();
+        }
     }
 
     public void directionOverride(Direction directionOverride) {
@@ -64,21 +74,11 @@ public class LogisticsFluidExtractorBehaviour extends ExtractorNodeBehaviour<IFl
         return this.directionOverride;
     }
 
-    @Override
-    public void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
-        super.saveAdditional(pTag, pRegistries);
-
-        pTag.putInt("extractionAmount", this.extractionAmount);
-    }
-
-    @Override
-    public void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
-        super.loadAdditional(pTag, pRegistries);
-
-        if (pTag.contains("extractionAmount")) {
-            this.extractionAmount = pTag.getInt("extractionAmount");
-        }
-
+    /**
+     * The amount of fluid (in mB) that can be moved per extraction, based on the configured transfer rate per tick.
+     */
+    public int extractionAmount() {
+        return ServerConfig.get().logistics.fluidExtractorTransferRate.get() * this.extractionInterval();
     }
 
     @Override
@@ -103,54 +103,109 @@ public class LogisticsFluidExtractorBehaviour extends ExtractorNodeBehaviour<IFl
     }
 
     @Override
-    public void tickServer() {
-        //TODO: extraction should happen on a low tick, and in bulk.
-
-        if (!this.enabled)
-            return;
+    public int extractionInterval() {
+        return ServerConfig.get().logistics.fluidExtractorInterval.get();
+    }
 
-        super.tickServer();
+    @Override
+    public boolean isDormant() {
+        return !this.enabled || super.isDormant();
+    }
 
-        if ((this.slowTickRandomOffset + this.blockEntity.getLevel().getGameTime()) % EXTRACTION_EVERY_N_TICKS != 0) //slow tick
-            return;
+    @Override
+    public boolean tickExtraction() {
+        if (!this.enabled)
+            return false;
 
-        this.distributor.tick(); //moved from super.tickServer() here because otherwise the distributor keeps moving targets despite not moving items
+        this.distributor.tick(); //only advanced on extraction ticks, otherwise the distributor keeps moving targets despite not moving items
 
-        var insertTarget = this.distributor.target();
-        if (insertTarget == null)
-            return;
+        var insertTargets = this.distributor.currentTargets();
+        if (insertTargets.isEmpty())
+            return false;
 
         var extractTarget = this.extractTargets.getFirst(); //we only support one target
         if (extractTarget == null)
-            return;
-
-        var insertCap = insertTarget.capability().getCapability();
-        if (insertCap == null)
-            return;
+            return false;
 
         var extractCap = extractTarget.getCapability();
         if (extractCap == null)
-            return;
+            return false;
+
+        var insertCaps = new IFluidHandler[insertTargets.size()];
+        var insertFilters = new Filter[insertTargets.size()];
+        boolean hasInsertCap = false;
+        boolean hasNotLive = false;
+        for (int i = 0; i < insertCaps.length; i++) {
+            var insertTarget = insertTargets.get(i);
+            insertCaps[i] = insertTarget.capability().getCapability();
+            insertFilters[i] = insertTarget.inserter().filter();
+            if (insertCaps[i] == null) {
+                //skip the target in future extractions until its capability is invalidated (and hopefully available) again
+                this.markNotLive(insertTarget);
+                hasNotLive = true;
+            }
+            hasInsertCap |= insertCaps[i] != null;
+        }
+        if (hasNotLive)
+            this.updateLiveInsertTargets(); //after the loop, as the distributor may have handed us the live list itself
+        if (!hasInsertCap)
+            return false;
 
-        this.performExtraction(extractCap, this.filter(), insertCap, insertTarget.inserter().filter());
+        return this.performExtraction(extractCap, this.filter(), insertCaps, insertFilters) > 0;
     }
 
-    protected void performExtraction(IFluidHandler extractCap, Filter extractFilter, IFluidHandler insertCap, Filter insertFilter) {
+    /**
+     * Moves up to extractionAmount() mB from the extract target into the insert targets.
+     * Simulates the drain once, simulates filling every target, lets the distributor split the amount and then commits in one pass.
+     * The commit drains by fluid stack, so the amount is capped by a simulation of that same drain call.
+     *
+     * @return the amount of fluid actually drained from the extract target.
+     */
+    protected int performExtraction(IFluidHandler extractCap, Filter extractFilter, IFluidHandler[] insertCaps, Filter[] insertFilters) {
         //first simulate extraction, this tells us how much we can extract
-        var extractStack = extractCap.drain(this.extractionAmount, IFluidHandler.FluidAction.SIMULATE);
+        var extractStack = extractCap.drain(this.extractionAmount(), IFluidHandler.FluidAction.SIMULATE);
+        if (extractStack.isEmpty() || !extractFilter.test(this.level(), extractStack))
+            return 0;
+
+        //we commit by draining this exact stack, which may yield less than draining by amount (e.g. multi-tank handlers), so we simulate that call too
+        extractStack = extractCap.drain(extractStack.copy(), IFluidHandler.FluidAction.SIMULATE);
         if (extractStack.isEmpty())
-            return;
+            return 0;
+
+        //then simulate filling each target to get the available space, fill() returns the amount that would be filled
+        var capacities = new int[insertCaps.length];
+        var freeSpace = this.distributor.needsFreeSpace() ? new int[insertCaps.length] : capacities;
+        boolean anyCapacity = false;
+        for (int i = 0; i < insertCaps.length; i++) {
+            if (insertCaps[i] == null || !insertFilters[i].test(this.level(), extractStack))
+                continue;
+
+            capacities[i] = insertCaps[i].fill(extractStack.copy(), IFluidHandler.FluidAction.SIMULATE);
+            anyCapacity |= capacities[i] > 0;
+            if (freeSpace != capacities && capacities[i] > 0)
+                freeSpace[i] = freeSpace(insertCaps[i], extractStack);
+        }
+        if (!anyCapacity) {
+            this.stats.recordFailedSimulation();
+            return 0; //nothing fits anywhere
+        }
 
-        if(!extractFilter.test(this.level(), extractStack) || !insertFilter.test(this.level(), extractStack))
-            return;
+        //let the distributor decide how much each target gets, then perform the real fill
+        var amounts = this.distributor.split(extractStack.getAmount(), capacities, freeSpace);
+        int filled = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] <= 0)
+                continue;
 
-        //and insertion
-        var inserted = insertCap.fill(extractStack, IFluidHandler.FluidAction.SIMULATE);
+            filled += insertCaps[i].fill(extractStack.copyWithAmount(amounts[i]), IFluidHandler.FluidAction.EXECUTE);
+        }
 
-        //then if anything was inserted during the simulation, perform the real extraction and insertion
-        if (inserted != extractStack.getAmount()) {
-            var remaining = insertCap.fill(extractStack, IFluidHandler.FluidAction.EXECUTE);
-            extractCap.drain(extractStack.getAmount() - remaining, IFluidHandler.FluidAction.EXECUTE);
+        //and finally drain exactly what was filled, draining by stack ensures we drain the same fluid we simulated
+        int drained = 0;
+        if (filled > 0) {
+            drained = extractCap.drain(extractStack.copyWithAmount(filled), IFluidHandler.FluidAction.EXECUTE).getAmount();
+            this.stats.recordFluidMoved(drained);
         }
+        return drained;
     }
 }
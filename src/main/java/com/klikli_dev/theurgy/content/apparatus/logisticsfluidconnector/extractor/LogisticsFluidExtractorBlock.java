@@ -8,11 +8,9 @@ import com.klikli_dev.theurgy.content.apparatus.logisticsfluidconnector.Logistic
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
 import com.mojang.serialization.MapCodec;
 import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.block.DirectionalBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.entity.BlockEntityTicker;
-import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -36,16 +34,13 @@ public class LogisticsFluidExtractorBlock extends LogisticsFluidConnectorBlock {
         return BlockEntityRegistry.LOGISTICS_FLUID_EXTRACTOR.get().create(pPos, pState);
     }
 
-    @Nullable
     @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level pLevel, @NotNull BlockState pState, @NotNull BlockEntityType<T> pBlockEntityType) {
-        if (pLevel.isClientSide()) {
-            return null;
+    public void onNeighborChange(BlockState state, LevelReader level, BlockPos pos, BlockPos neighbor) {
+        super.onNeighborChange(state, level, pos, neighbor);
+
+        //called if a neighboring block entity changed, e.g. because something was inserted into our extract target
+        if (!level.isClientSide() && level.getBlockEntity(pos) instanceof LogisticsFluidExtractorBlockEntity blockEntity) {
+            blockEntity.leafNode().onNeighborChanged(neighbor);
         }
-        return (lvl, pos, blockState, t) -> {
-            if (t instanceof LogisticsFluidExtractorBlockEntity blockEntity) {
-                blockEntity.tickServer();
-            }
-        };
     }
 }
@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.logisticsfluidconnector.extractor;
 
 import com.klikli_dev.theurgy.content.apparatus.logisticsfluidconnector.LogisticsFluidConnectorBlockEntity;
+import com.klikli_dev.theurgy.content.behaviour.logistics.distribution.DistributionMode;
+import com.klikli_dev.theurgy.content.item.mode.DistributionModeSetter;
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.core.BlockPos;
@@ -22,7 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
-public class LogisticsFluidExtractorBlockEntity extends LogisticsFluidConnectorBlockEntity {
+public class LogisticsFluidExtractorBlockEntity extends LogisticsFluidConnectorBlockEntity implements DistributionModeSetter {
 
     public LogisticsFluidExtractorBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(BlockEntityRegistry.LOGISTICS_FLUID_EXTRACTOR.get(), pPos, pBlockState);
@@ -90,10 +92,6 @@ public class LogisticsFluidExtractorBlockEntity extends LogisticsFluidConnectorB
             this.getLevel().sendBlockUpdated(this.getBlockPos(), this.getBlockState(), this.getBlockState(), Block.UPDATE_CLIENTS);
     }
 
-    public void tickServer() {
-        this.leafNode().tickServer();
-    }
-
     @Override
     public void enabled(boolean enabled) {
         this.leafNode().enabled(enabled);
@@ -106,6 +104,18 @@ public class LogisticsFluidExtractorBlockEntity extends LogisticsFluidConnectorB
         return this.leafNode().enabled();
     }
 
+    @Override
+    public void distributionMode(DistributionMode mode) {
+        this.leafNode().distributionMode(mode);
+        this.setChanged();
+        this.sendBlockUpdated();
+    }
+
+    @Override
+    public DistributionMode distributionMode() {
+        return this.leafNode().distributionMode();
+    }
+
     @Override
     public void targetDirection(Direction direction) {
         this.leafNode().directionOverride(direction);
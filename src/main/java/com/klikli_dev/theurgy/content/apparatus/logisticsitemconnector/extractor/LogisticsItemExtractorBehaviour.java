@@ -24,9 +24,13 @@ import org.jetbrains.annotations.Nullable;
 public class LogisticsItemExtractorBehaviour extends ExtractorNodeBehaviour<IItemHandler, @Nullable Direction> {
 
     public static final int EXTRACTION_EVERY_N_TICKS = 20; // 1 second
-    public static final int MAX_EXTRACTION_AMOUNT = 10; //how many items to extract per extraction tick
-    private final int slowTickRandomOffset = (int) (Math.random() * 20);
-    private int extractionAmount = MAX_EXTRACTION_AMOUNT;
+    public static final int MAX_SLOTS_PER_EXTRACTION = 4; //how many distinct slots to move items from per extraction tick, each up to a full stack that is split across the targets by the distributor
+    public static final int MAX_SLOTS_SCANNED_PER_EXTRACTION = 64; //upper bound of slots we look at per extraction tick, protects against huge modded storages
+    /**
+     * The slot the next extraction starts scanning at.
+     * This allows us to resume where the last extraction stopped instead of rescanning from slot 0 every time.
+     */
+    private int slotCursor = 0;
     private Direction directionOverride = null;
     private boolean enabled = true;
 
@@ -34,18 +38,27 @@ public class LogisticsItemExtractorBehaviour extends ExtractorNodeBehaviour<IIte
         super(blockEntity, Capabilities.ItemHandler.BLOCK);
     }
 
-    protected static int getFirstMatchingSlot(Level level, IItemHandler handler, Filter extractFilter, Filter insertFilter) {
-        return getFirstMatchingSlotAfter(level, handler, -1, extractFilter, insertFilter);
+    protected static boolean isMatchingSlot(Level level, IItemHandler handler, int slot, Filter extractFilter) {
+        var stack = handler.getStackInSlot(slot);
+        return !stack.isEmpty() && extractFilter.test(level, stack);
     }
 
-    protected static int getFirstMatchingSlotAfter(Level level, IItemHandler handler, int slot, Filter extractFilter, Filter insertFilter) {
-        for (int i = slot + 1; i < handler.getSlots(); i++) {
-            var stack = handler.getStackInSlot(i);
-            if (!stack.isEmpty() && extractFilter.test(level, stack) && insertFilter.test(level, stack)) {
-                return i;
+    /**
+     * The number of items of the given stack the handler can still hold: the free space of empty slots that accept the item and of slots holding the same item.
+     */
+    protected static int freeSpace(IItemHandler handler, ItemStack stack) {
+        long free = 0;
+        for (int slot = 0; slot < handler.getSlots(); slot++) {
+            var existing = handler.getStackInSlot(slot);
+            int limit = Math.min(handler.getSlotLimit(slot), stack.getMaxStackSize());
+            if (existing.isEmpty()) {
+                if (handler.isItemValid(slot, stack))
+                    free += limit;
+            } else if (ItemStack.isSameItemSameComponents(existing, stack)) {
+                free += Math.max(0, limit - existing.getCount());
             }
         }
-        return -1;
+        return (int) Math.min(free, Integer.MAX_VALUE);
     }
 
     @Override
@@ -66,6 +79,9 @@ public class LogisticsItemExtractorBehaviour extends ExtractorNodeBehaviour<IIte
 
     public void enabled(boolean enabled) {
         this.enabled = enabled;
+        if (enabled) {
+            this.wakeUp();
+        }
     }
 
     public void directionOverride(Direction directionOverride) {
@@ -81,17 +97,16 @@ public class LogisticsItemExtractorBehaviour extends ExtractorNodeBehaviour<IIte
     public void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.saveAdditional(pTag, pRegistries);
 
-        pTag.putInt("extractionAmount", this.extractionAmount);
+        pTag.putInt("slotCursor", this.slotCursor);
     }
 
     @Override
     public void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         super.loadAdditional(pTag, pRegistries);
 
-        if (pTag.contains("extractionAmount")) {
-            this.extractionAmount = pTag.getInt("extractionAmount");
+        if (pTag.contains("slotCursor")) {
+            this.slotCursor = pTag.getInt("slotCursor");
         }
-
     }
 
     @Override
@@ -116,64 +131,141 @@ public class LogisticsItemExtractorBehaviour extends ExtractorNodeBehaviour<IIte
     }
 
     @Override
-    public void tickServer() {
-        //TODO: extraction should happen on a low tick, and in bulk.
-
-        if (!this.enabled)
-            return;
+    public int extractionInterval() {
+        return EXTRACTION_EVERY_N_TICKS;
+    }
 
-        super.tickServer();
+    @Override
+    public boolean isDormant() {
+        return !this.enabled || super.isDormant();
+    }
 
-        if ((this.slowTickRandomOffset + this.blockEntity.getLevel().getGameTime()) % EXTRACTION_EVERY_N_TICKS != 0) //slow tick
-            return;
+    @Override
+    public boolean tickExtraction() {
+        if (!this.enabled)
+            return false;
 
-        this.distributor.tick(); //moved from super.tickServer() here because otherwise the distributor keeps moving targets despite not moving items
+        this.distributor.tick(); //only advanced on extraction ticks, otherwise the distributor keeps moving targets despite not moving items
 
-        var insertTarget = this.distributor.target();
-        if (insertTarget == null)
-            return;
+        var insertTargets = this.distributor.currentTargets();
+        if (insertTargets.isEmpty())
+            return false;
 
         var extractTarget = this.extractTargets.getFirst(); //we only support one target
         if (extractTarget == null)
-            return;
-
-        var insertCap = insertTarget.capability().getCapability();
-        if (insertCap == null)
-            return;
+            return false;
 
         var extractCap = extractTarget.getCapability();
         if (extractCap == null)
-            return;
+            return false;
+
+        //resolve the insert capabilities once per extraction tick, not once per slot
+        var insertCaps = new IItemHandler[insertTargets.size()];
+        var insertFilters = new Filter[insertTargets.size()];
+        boolean hasInsertCap = false;
+        boolean hasNotLive = false;
+        for (int i = 0; i < insertCaps.length; i++) {
+            var insertTarget = insertTargets.get(i);
+            insertCaps[i] = insertTarget.capability().getCapability();
+            insertFilters[i] = insertTarget.inserter().filter();
+            if (insertCaps[i] == null) {
+                //skip the target in future extractions until its capability is invalidated (and hopefully available) again
+                this.markNotLive(insertTarget);
+                hasNotLive = true;
+            }
+            hasInsertCap |= insertCaps[i] != null;
+        }
+        if (hasNotLive)
+            this.updateLiveInsertTargets(); //after the loop, as the distributor may have handed us the live list itself
+        if (!hasInsertCap)
+            return false;
 
-        this.performExtraction(extractCap, this.filter(), insertCap, insertTarget.inserter().filter());
+        return this.performExtraction(extractCap, this.filter(), insertCaps, insertFilters) > 0;
     }
 
-    protected void performExtraction(IItemHandler extractCap, Filter extractFilter, IItemHandler insertCap, Filter insertFilter) {
-        int extractSlot = getFirstMatchingSlot(this.level(), extractCap, extractFilter, insertFilter);
-        if (extractSlot == -1)
-            return; //nothing found to extract
+    /**
+     * Moves up to a full stack from each of up to MAX_SLOTS_PER_EXTRACTION distinct slots of the extract target into the insert targets.
+     * Scanning starts at the slot cursor and wraps around, at most MAX_SLOTS_SCANNED_PER_EXTRACTION slots are looked at per call.
+     * Items left in a slot (e.g. because the targets are full, or the slot holds more than a stack) are picked up when the cursor comes around again.
+     *
+     * @return the number of items moved.
+     */
+    protected int performExtraction(IItemHandler extractCap, Filter extractFilter, IItemHandler[] insertCaps, Filter[] insertFilters) {
+        int slots = extractCap.getSlots();
+        if (slots <= 0)
+            return 0;
+
+        if (this.slotCursor >= slots) //the target inventory may have shrunk since we last looked at it
+            this.slotCursor = 0;
+
+        int slotsToScan = Math.min(slots, MAX_SLOTS_SCANNED_PER_EXTRACTION);
+        int movedSlots = 0;
+        int movedItems = 0;
+        int slot = this.slotCursor;
+
+        for (int scanned = 0; scanned < slotsToScan && movedSlots < MAX_SLOTS_PER_EXTRACTION; scanned++) {
+            if (isMatchingSlot(this.level(), extractCap, slot, extractFilter)) {
+                int moved = this.performSlotExtraction(extractCap, slot, insertCaps, insertFilters);
+                if (moved > 0) {
+                    movedSlots++;
+                    movedItems += moved;
+                }
+            }
+
+            slot = (slot + 1) % slots;
+        }
 
+        this.slotCursor = slot;
+        return movedItems;
+    }
+
+    /**
+     * Moves up to a full stack from the given slot into the insert targets.
+     * Simulates the extraction once, simulates insertion into every target, lets the distributor split the amount and then commits in one pass.
+     *
+     * @return the number of items moved.
+     */
+    protected int performSlotExtraction(IItemHandler extractCap, int extractSlot, IItemHandler[] insertCaps, Filter[] insertFilters) {
         //first simulate extraction, this tells us how much we can extract
-        var extractStack = extractCap.extractItem(extractSlot, this.extractionAmount, true);
+        var extractStack = extractCap.extractItem(extractSlot, extractCap.getStackInSlot(extractSlot).getMaxStackSize(), true);
         if (extractStack.isEmpty())
-            return;
-
-        //TODO: better round robin distribution that works with extraction amounts > 1?
-        //  Simulate extract to get available
-        //  Simulate insert on each to get available space
-        //  Split evenly and take care of remainder
-        //  Then insert/extract
-        //  BUUUT: we should move that logic into the distributor
-        //  and: figure out if we do round robin only within a single tick, or if we do it across ticks
-        //      we probably need both depending on the transferred amount
-
-        //and insertion
-        ItemStack inserted = ItemHandlerHelper.insertItemStacked(insertCap, extractStack, true);
-
-        //then if anything was inserted during the simulation, perform the real extraction and insertion
-        if (inserted.getCount() != extractStack.getCount()) {
-            ItemStack remaining = ItemHandlerHelper.insertItemStacked(insertCap, extractStack, false);
-            extractCap.extractItem(extractSlot, extractStack.getCount() - remaining.getCount(), false);
+            return 0;
+
+        //then simulate insertion into each target to get the available space
+        var capacities = new int[insertCaps.length];
+        var freeSpace = this.distributor.needsFreeSpace() ? new int[insertCaps.length] : capacities;
+        boolean anyCapacity = false;
+        for (int i = 0; i < insertCaps.length; i++) {
+            if (insertCaps[i] == null || !insertFilters[i].test(this.level(), extractStack))
+                continue;
+
+            var remainingSimulated = ItemHandlerHelper.insertItemStacked(insertCaps[i], extractStack, true);
+            capacities[i] = extractStack.getCount() - remainingSimulated.getCount();
+            anyCapacity |= capacities[i] > 0;
+            if (freeSpace != capacities && capacities[i] > 0)
+                freeSpace[i] = freeSpace(insertCaps[i], extractStack);
+        }
+        if (!anyCapacity) {
+            this.stats.recordFailedSimulation();
+            return 0; //nothing fits anywhere
+        }
+
+        //let the distributor decide how much each target gets, then perform the real insertion
+        var amounts = this.distributor.split(extractStack.getCount(), capacities, freeSpace);
+        int moved = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] <= 0)
+                continue;
+
+            ItemStack remaining = ItemHandlerHelper.insertItemStacked(insertCaps[i], extractStack.copyWithCount(amounts[i]), false);
+            moved += amounts[i] - remaining.getCount();
+        }
+
+        //and finally extract exactly what was inserted
+        if (moved > 0) {
+            extractCap.extractItem(extractSlot, moved, false);
+            this.stats.recordItemsMoved(moved);
         }
+        return moved;
     }
 }
@@ -5,6 +5,8 @@
 package com.klikli_dev.theurgy.content.apparatus.logisticsitemconnector.extractor;
 
 import com.klikli_dev.theurgy.content.apparatus.logisticsitemconnector.LogisticsItemConnectorBlockEntity;
+import com.klikli_dev.theurgy.content.behaviour.logistics.distribution.DistributionMode;
+import com.klikli_dev.theurgy.content.item.mode.DistributionModeSetter;
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.core.BlockPos;
@@ -23,7 +25,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class LogisticsItemExtractorBlockEntity extends LogisticsItemConnectorBlockEntity {
+public class LogisticsItemExtractorBlockEntity extends LogisticsItemConnectorBlockEntity implements DistributionModeSetter {
 
     public LogisticsItemExtractorBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(BlockEntityRegistry.LOGISTICS_ITEM_EXTRACTOR.get(), pPos, pBlockState);
@@ -91,10 +93,6 @@ public class LogisticsItemExtractorBlockEntity extends LogisticsItemConnectorBlo
             this.getLevel().sendBlockUpdated(this.getBlockPos(), this.getBlockState(), this.getBlockState(), Block.UPDATE_CLIENTS);
     }
 
-    public void tickServer() {
-        this.leafNode().tickServer();
-    }
-
     @Override
     public void enabled(boolean enabled) {
         this.leafNode().enabled(enabled);
@@ -107,6 +105,18 @@ public class LogisticsItemExtractorBlockEntity extends LogisticsItemConnectorBlo
         return this.leafNode().enabled();
     }
 
+    @Override
+    public void distributionMode(DistributionMode mode) {
+        this.leafNode().distributionMode(mode);
+        this.setChanged();
+        this.sendBlockUpdated();
+    }
+
+    @Override
+    public DistributionMode distributionMode() {
+        return this.leafNode().distributionMode();
+    }
+
     @Override
     public void targetDirection(Direction direction) {
         this.leafNode().directionOverride(direction);
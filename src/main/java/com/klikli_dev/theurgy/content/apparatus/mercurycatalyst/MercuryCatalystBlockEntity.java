@@ -4,7 +4,8 @@
 
 package com.klikli_dev.theurgy.content.apparatus.mercurycatalyst;
 
-import com.klikli_dev.theurgy.content.behaviour.crafting.CraftingBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.capability.DefaultMercuryFluxStorage;
 import com.klikli_dev.theurgy.content.storage.MonitoredItemStackHandler;
 import com.klikli_dev.theurgy.registry.BlockEntityRegistry;
@@ -29,7 +30,7 @@ import net.neoforged.neoforge.items.ItemStackHandler;
 import org.jetbrains.annotations.Nullable;
 
 
-public class MercuryCatalystBlockEntity extends BlockEntity {
+public class MercuryCatalystBlockEntity extends BlockEntity implements HasDormancyBehaviour {
 
     public static final int CAPACITY = 50000;
 
@@ -39,7 +40,8 @@ public class MercuryCatalystBlockEntity extends BlockEntity {
     public ItemStackHandler inventory;
     public MercuryCatalystMercuryFluxStorage mercuryFluxStorage;
 
-    protected CraftingBehaviour<?, ?, ?> craftingBehaviour;
+    protected MercuryCatalystCraftingBehaviour craftingBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
 
     public MercuryCatalystBlockEntity(BlockPos pPos, BlockState pBlockState) {
         super(BlockEntityRegistry.MERCURY_CATALYST.get(), pPos, pBlockState);
@@ -50,6 +52,7 @@ public class MercuryCatalystBlockEntity extends BlockEntity {
 
 
         this.craftingBehaviour = new MercuryCatalystCraftingBehaviour(this, () -> this.inventory, () -> this.inventory, () -> this.mercuryFluxStorage);
+        this.dormancyBehaviour = new DormancyBehaviour(this);
     }
 
     @Override
@@ -107,6 +110,17 @@ public class MercuryCatalystBlockEntity extends BlockEntity {
                 this.pushMercuryFlux();
             }
         }
+
+        //with nothing to convert or push we stop ticking until inventory changes wake us, or the enabled state changes
+        if (!hasInput && !this.craftingBehaviour.isConverting() &&
+                (this.mercuryFluxStorage.getEnergyStored() <= 0 || !this.getBlockState().getValue(BlockStateProperties.ENABLED))) {
+            this.dormancyBehaviour.sleep();
+        }
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     protected void pushMercuryFlux() {
@@ -198,6 +212,7 @@ public class MercuryCatalystBlockEntity extends BlockEntity {
         @Override
         protected void onContentsChanged(int slot) {
             MercuryCatalystBlockEntity.this.setChanged();
+            MercuryCatalystBlockEntity.this.craftingBehaviour.onInputContentsChanged();
         }
     }
 
@@ -55,6 +55,13 @@ public class MercuryCatalystCraftingBehaviour extends CraftingBehaviour<ItemHand
         return this.recipeCachedCheck.getRecipeFor(tempRecipeWrapper, this.blockEntity.getLevel()).isPresent();
     }
 
+    /**
+     * If mercury flux from the last consumed item is still waiting to be converted.
+     */
+    public boolean isConverting() {
+        return this.mercuryFluxToConvert > 0;
+    }
+
     @Override
     public void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
         pTag.putInt("mercuryFluxToConvert", this.mercuryFluxToConvert);
@@ -124,11 +131,12 @@ public class MercuryCatalystCraftingBehaviour extends CraftingBehaviour<ItemHand
             //only even check for recipe if we have input to avoid unnecessary lookups
 
             //if we have no flux available, consume more mercury
-            var recipe = this.recipeCachedCheck.getRecipeFor(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel()).orElse(null);
+            var recipe = this.getRecipe().orElse(null);
 
             //if we are lit and have a recipe, update progress
             if (canProcess && this.canCraft(recipe)) {
                 this.craft(recipe);
+                this.invalidateRecipe();
             }
         }
     }
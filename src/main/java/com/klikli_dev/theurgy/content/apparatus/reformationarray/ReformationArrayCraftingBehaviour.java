@@ -17,12 +17,17 @@ import net.neoforged.neoforge.items.IItemHandlerModifiable;
 import net.neoforged.neoforge.items.ItemHandlerHelper;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
 public class ReformationArrayCraftingBehaviour extends CraftingBehaviour<ReformationArrayRecipeInput, ReformationRecipe, RecipeManager.CachedCheck<ReformationArrayRecipeInput, ReformationRecipe>> {
 
     protected final Supplier<MercuryFluxStorage> mercuryFluxStorageSupplier;
+    /**
+     * The stored mercury flux when the recipe was cached, recipes only match with enough flux.
+     */
+    protected int cachedMercuryFlux = -1;
 
     public ReformationArrayCraftingBehaviour(BlockEntity blockEntity, Supplier<ReformationArrayRecipeInput> recipeWrapperSupplier, Supplier<IItemHandlerModifiable> inputInventorySupplier, Supplier<IItemHandlerModifiable> outputInventorySupplier, Supplier<MercuryFluxStorage> mercuryFluxStorageSupplier) {
         super(blockEntity,
@@ -42,6 +47,16 @@ public class ReformationArrayCraftingBehaviour extends CraftingBehaviour<Reforma
         return this.recipeCachedCheck.getRecipeFor(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel()).isPresent();
     }
 
+    @Override
+    public Optional<RecipeHolder<ReformationRecipe>> getRecipe() {
+        var storage = this.mercuryFluxStorageSupplier.get();
+        if (storage != null && storage.getEnergyStored() != this.cachedMercuryFlux) {
+            this.cachedMercuryFlux = storage.getEnergyStored();
+            this.invalidateRecipe();
+        }
+        return super.getRecipe();
+    }
+
     @Override
     protected boolean craft(RecipeHolder<ReformationRecipe> pRecipe) {
         var ItemHandlerRecipeInput = this.recipeWrapperSupplier.get();
@@ -148,6 +148,10 @@ public class ReformationResultPedestalBlockEntity extends BlockEntity {
         @Override
         protected void onContentsChanged(int slot) {
             ReformationResultPedestalBlockEntity.this.setChanged();
+
+            var emitter = ReformationResultPedestalBlockEntity.this.sulfuricFluxEmitter;
+            if (emitter != null && emitter.get() != null)
+                emitter.get().craftingBehaviour.onOutputContentsChanged();
         }
     }
 }
@@ -153,8 +153,10 @@ public class ReformationSourcePedestalBlockEntity extends BlockEntity {
         protected void onContentsChanged(int slot) {
             ReformationSourcePedestalBlockEntity.this.setChanged();
 
-            if (this.emitter() != null)
+            if (this.emitter() != null) {
                 this.emitter().onSourcePedestalContentChange(ReformationSourcePedestalBlockEntity.this);
+                this.emitter().craftingBehaviour.onInputContentsChanged();
+            }
         }
     }
 }
@@ -149,8 +149,10 @@ public class ReformationTargetPedestalBlockEntity extends BlockEntity {
         protected void onContentsChanged(int slot) {
             ReformationTargetPedestalBlockEntity.this.setChanged();
 
-            if (this.emitter() != null)
+            if (this.emitter() != null) {
                 this.emitter().onTargetPedestalContentChange(ReformationTargetPedestalBlockEntity.this);
+                this.emitter().craftingBehaviour.onInputContentsChanged();
+            }
         }
     }
 }
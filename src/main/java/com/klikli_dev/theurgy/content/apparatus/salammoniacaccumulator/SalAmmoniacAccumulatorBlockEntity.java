@@ -4,6 +4,8 @@
 
 package com.klikli_dev.theurgy.content.apparatus.salammoniacaccumulator;
 
+import com.klikli_dev.theurgy.content.behaviour.dormancy.DormancyBehaviour;
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
 import com.klikli_dev.theurgy.content.particle.ParticleColor;
 import com.klikli_dev.theurgy.content.particle.coloredbubble.ColoredBubbleParticleProvider;
 import com.klikli_dev.theurgy.content.storage.MonitoredItemStackHandler;
@@ -35,7 +37,7 @@ import software.bernie.geckolib.util.GeckoLibUtil;
 
 import java.util.function.Predicate;
 
-public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements GeoBlockEntity {
+public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements GeoBlockEntity, HasDormancyBehaviour {
 
     protected final AnimatableInstanceCache animatableInstanceCache = GeckoLibUtil.createInstanceCache(this);
 
@@ -44,6 +46,7 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
     public FluidTank waterTank;
 
     protected SalAmmoniacAccumulatorCraftingBehaviour craftingBehaviour;
+    protected DormancyBehaviour dormancyBehaviour;
 
     private boolean checkOutputTankOnNextQuery;
     private boolean hasOutputTank;
@@ -57,6 +60,8 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
 
         this.waterTank = new WaterTank(FluidType.BUCKET_VOLUME * 10, this.craftingBehaviour::canProcess);
 
+        this.dormancyBehaviour = new DormancyBehaviour(this);
+
         this.checkOutputTankOnNextQuery = true;
     }
 
@@ -112,12 +117,23 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
 
     public void tickServer() {
         if (!this.hasOutputTank()) {
+            //we stop ticking until a tank is placed below or our tank or inventory changes
+            this.dormancyBehaviour.sleep();
             return;
         }
 
         boolean hasInput = !this.waterTank.isEmpty();
 
         this.craftingBehaviour.tickServer(true, hasInput); //does not need heat
+
+        //the output tank is not ours so we do not get notified when it is drained, so we only stop ticking without water
+        if (!hasInput)
+            this.dormancyBehaviour.sleep();
+    }
+
+    @Override
+    public DormancyBehaviour dormancyBehaviour() {
+        return this.dormancyBehaviour;
     }
 
     public void tickClient() {
@@ -160,6 +176,7 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
     public void validateOutputTank() {
         var below = this.getBlockPos().below();
         this.hasOutputTank = this.level.getCapability(Capabilities.FluidHandler.BLOCK, below, null) != null;
+        this.dormancyBehaviour.wake();
     }
 
     public boolean hasOutputTank() {
@@ -212,6 +229,7 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
         protected void onContentsChanged() {
             SalAmmoniacAccumulatorBlockEntity.this.setChanged();
             SalAmmoniacAccumulatorBlockEntity.this.sendBlockUpdated();
+            SalAmmoniacAccumulatorBlockEntity.this.craftingBehaviour.onFluidContentsChanged();
         }
     }
 
@@ -237,6 +255,7 @@ public class SalAmmoniacAccumulatorBlockEntity extends BlockEntity implements Ge
         @Override
         protected void onContentsChanged(int slot) {
             SalAmmoniacAccumulatorBlockEntity.this.setChanged();
+            SalAmmoniacAccumulatorBlockEntity.this.craftingBehaviour.onInputContentsChanged();
             //network update only if presence of crystal chanced, stack size changes are irrelevant
         }
     }
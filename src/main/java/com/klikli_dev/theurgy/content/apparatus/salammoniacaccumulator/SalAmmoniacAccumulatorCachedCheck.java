@@ -5,6 +5,7 @@
 package com.klikli_dev.theurgy.content.apparatus.salammoniacaccumulator;
 
 import com.klikli_dev.theurgy.content.recipe.AccumulationRecipe;
+import com.klikli_dev.theurgy.content.recipe.RecipeIndex;
 import com.klikli_dev.theurgy.content.recipe.input.ItemHandlerWithFluidRecipeInput;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
@@ -15,6 +16,7 @@ import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.fluids.FluidStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,6 +34,10 @@ class SalAmmoniacAccumulatorCachedCheck implements RecipeManager.CachedCheck<Ite
         this.internal = RecipeManager.createCheck(type);
     }
 
+    private RecipeIndex<AccumulationRecipe> index(RecipeManager recipeManager) {
+        return RecipeIndex.get(recipeManager, this.type, recipe -> recipe.hasSolute() ? List.of(recipe.getSolute()) : List.of(), recipe -> List.of(recipe.getEvaporant().ingredient()));
+    }
+
     private Optional<RecipeHolder<AccumulationRecipe>> getRecipeFor(ItemStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
         var recipeManager = level.getRecipeManager();
         if (lastRecipe != null) {
@@ -42,7 +48,7 @@ class SalAmmoniacAccumulatorCachedCheck implements RecipeManager.CachedCheck<Ite
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().hasSolute() && entry.value().getSolute().test(stack)).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.hasSolute() && recipe.getSolute().test(stack));
     }
 
     private Optional<RecipeHolder<AccumulationRecipe>> getRecipeFor(FluidStack stack, Level level, @Nullable ResourceLocation lastRecipe) {
@@ -55,7 +61,7 @@ class SalAmmoniacAccumulatorCachedCheck implements RecipeManager.CachedCheck<Ite
             }
         }
 
-        return recipeManager.byType(this.type).stream().filter((entry) -> entry.value().getEvaporant().test(stack)).findFirst();
+        return this.index(recipeManager).findFirst(stack, recipe -> recipe.getEvaporant().test(stack));
     }
 
     /**
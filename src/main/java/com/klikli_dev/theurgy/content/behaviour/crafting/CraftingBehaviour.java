@@ -4,6 +4,8 @@
 
 package com.klikli_dev.theurgy.content.behaviour.crafting;
 
+import com.klikli_dev.theurgy.content.behaviour.dormancy.HasDormancyBehaviour;
+import com.klikli_dev.theurgy.content.recipe.RecipeIndex;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.nbt.CompoundTag;
@@ -32,6 +34,22 @@ public abstract class CraftingBehaviour<W extends RecipeInput, R extends Recipe<
     protected int totalTime;
     protected boolean isProcessing;
 
+    /**
+     * The recipe for the current input, see getRecipe().
+     * Only used on the server, and invalidated by the input, output and fluid change notifications and by recipe reloads.
+     */
+    protected Optional<RecipeHolder<R>> cachedRecipe = Optional.empty();
+    protected boolean isRecipeCacheValid;
+    protected int cachedRecipeGeneration;
+    @Nullable
+    protected W cachedRecipeInput;
+    /**
+     * If the assembled output of the cached recipe fits into the output inventory, see canCraft().
+     */
+    protected boolean cachedOutputFits;
+    protected boolean isOutputCacheValid;
+    @Nullable
+    protected IItemHandlerModifiable cachedOutputInventory;
 
     public CraftingBehaviour(BlockEntity blockEntity, Supplier<W> ItemHandlerRecipeInput, Supplier<IItemHandlerModifiable> inputInventorySupplier, Supplier<IItemHandlerModifiable> outputInventorySupplier, C recipeCachedCheck) {
         this.blockEntity = blockEntity;
@@ -71,7 +89,36 @@ public abstract class CraftingBehaviour<W extends RecipeInput, R extends Recipe<
     }
 
     public Optional<RecipeHolder<R>> getRecipe() {
-        return this.recipeCachedCheck.getRecipeFor(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel());
+        var level = this.blockEntity.getLevel();
+        var recipeInput = this.recipeWrapperSupplier.get();
+        //client side inventories are replaced by network updates without change notifications, so we do not cache there
+        if (level.isClientSide)
+            return this.recipeCachedCheck.getRecipeFor(recipeInput, level);
+
+        //multiblocks replace their recipe input when they are (dis)assembled
+        if (!this.isRecipeCacheValid || this.cachedRecipeGeneration != RecipeIndex.generation() || this.cachedRecipeInput != recipeInput) {
+            this.cachedRecipe = this.recipeCachedCheck.getRecipeFor(recipeInput, level);
+            this.cachedRecipeGeneration = RecipeIndex.generation();
+            this.cachedRecipeInput = recipeInput;
+            this.isRecipeCacheValid = true;
+            this.isOutputCacheValid = false;
+        }
+        return this.cachedRecipe;
+    }
+
+    /**
+     * Call if anything the recipe lookup depends on changed.
+     */
+    public void invalidateRecipe() {
+        this.isRecipeCacheValid = false;
+        this.isOutputCacheValid = false;
+    }
+
+    /**
+     * Call if anything the output check of canCraft() depends on changed.
+     */
+    public void invalidateOutput() {
+        this.isOutputCacheValid = false;
     }
 
     /**
@@ -101,10 +148,44 @@ public abstract class CraftingBehaviour<W extends RecipeInput, R extends Recipe<
     }
 
     public void onInputItemChanged(ItemStack oldStack, ItemStack newStack) {
+        this.invalidateRecipe();
+        this.wakeBlockEntity();
         this.totalTime = this.getTotalTime();
         this.progress = 0;
     }
 
+    /**
+     * Call on any change of the input inventory, including stack size changes that onInputItemChanged() is not called for.
+     */
+    public void onInputContentsChanged() {
+        this.invalidateRecipe();
+        this.wakeBlockEntity();
+    }
+
+    /**
+     * Call on any change of the output inventory.
+     */
+    public void onOutputContentsChanged() {
+        this.invalidateOutput();
+        this.wakeBlockEntity();
+    }
+
+    /**
+     * Call on any change of the input fluid.
+     */
+    public void onFluidContentsChanged() {
+        this.invalidateRecipe();
+        this.wakeBlockEntity();
+    }
+
+    /**
+     * Any change we are notified about may let us craft again, so a dormant block entity has to tick again.
+     */
+    protected void wakeBlockEntity() {
+        if (this.blockEntity instanceof HasDormancyBehaviour blockEntity)
+            blockEntity.dormancyBehaviour().wake();
+    }
+
     public abstract boolean canProcess(ItemStack stack);
 
     /**
@@ -116,6 +197,8 @@ public abstract class CraftingBehaviour<W extends RecipeInput, R extends Recipe<
             this.totalTime = this.getTotalTime();
 
             this.craft(pRecipe);
+            //the inventories notify us too, but not all inputs of all apparatus are monitored
+            this.invalidateRecipe();
             this.sendBlockUpdated();
             //no need to setChanged() as the BE does that on inventory change.
         }
@@ -147,11 +230,25 @@ public abstract class CraftingBehaviour<W extends RecipeInput, R extends Recipe<
         if (pRecipe == null)
             return false;
 
-        var assembledStack = pRecipe.value().assemble(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel().registryAccess());
+        //the cached result is only valid for the cached recipe, other recipes are checked directly
+        var outputInventory = this.outputInventorySupplier.get();
+        if (!this.isRecipeCacheValid || this.cachedRecipe.orElse(null) != pRecipe || this.blockEntity.getLevel().isClientSide)
+            return this.fitsOutput(pRecipe.value().assemble(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel().registryAccess()), outputInventory);
+
+        if (!this.isOutputCacheValid || this.cachedOutputInventory != outputInventory) {
+            var assembledStack = pRecipe.value().assemble(this.recipeWrapperSupplier.get(), this.blockEntity.getLevel().registryAccess());
+            this.cachedOutputFits = this.fitsOutput(assembledStack, outputInventory);
+            this.cachedOutputInventory = outputInventory;
+            this.isOutputCacheValid = true;
+        }
+        return this.cachedOutputFits;
+    }
+
+    protected boolean fitsOutput(ItemStack assembledStack, IItemHandlerModifiable outputInventory) {
         if (assembledStack.isEmpty()) {
             return false;
         } else {
-            var remainingStack = ItemHandlerHelper.insertItemStacked(this.outputInventorySupplier.get(), assembledStack, true);
+            var remainingStack = ItemHandlerHelper.insertItemStacked(outputInventory, assembledStack, true);
             return remainingStack.isEmpty(); //only allow crafting if we have room for the full output
         }
     }
@@ -0,0 +1,60 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.dormancy;
+
+import com.klikli_dev.theurgy.content.behaviour.BlockEntityBehaviour;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+/**
+ * Lets a block entity stop ticking while it has nothing to do.
+ * <p>
+ * sleep() removes the ticker of the block entity from its chunk, wake() registers it again.
+ * The block entity has to call wake() on anything that may give it something to do again, e.g. inventory, tank, heat or redstone changes.
+ * Block state changes register the ticker again on their own, and so does reloading the chunk.
+ */
+public class DormancyBehaviour extends BlockEntityBehaviour {
+
+    protected boolean isDormant;
+
+    public DormancyBehaviour(BlockEntity blockEntity) {
+        super(blockEntity);
+    }
+
+    /**
+     * Wakes the block entity at the given position, if it can sleep.
+     */
+    public static void wake(Level level, BlockPos pos) {
+        if (level.getBlockEntity(pos) instanceof HasDormancyBehaviour blockEntity)
+            blockEntity.dormancyBehaviour().wake();
+    }
+
+    public boolean isDormant() {
+        return this.isDormant;
+    }
+
+    /**
+     * Stops ticking until wake() is called.
+     * Must only be called from the server tick of the block entity.
+     */
+    public void sleep() {
+        //no early out if we are dormant already: block state changes register the ticker again without waking us, so we might be ticking anyway.
+        this.isDormant = true;
+        this.level().getChunkAt(this.getBlockPos()).removeBlockEntityTicker(this.getBlockPos());
+    }
+
+    public void wake() {
+        if (!this.isDormant)
+            return;
+
+        var level = this.level();
+        if (level == null || level.isClientSide || this.blockEntity.isRemoved() || !level.isLoaded(this.getBlockPos()))
+            return;
+
+        this.isDormant = false;
+        level.getChunkAt(this.getBlockPos()).updateBlockEntityTicker(this.blockEntity);
+    }
+}
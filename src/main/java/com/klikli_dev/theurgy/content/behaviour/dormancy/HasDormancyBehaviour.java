@@ -0,0 +1,9 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.dormancy;
+
+public interface HasDormancyBehaviour {
+    DormancyBehaviour dormancyBehaviour();
+}
@@ -6,11 +6,15 @@ package com.klikli_dev.theurgy.content.behaviour.filter;
 
 import com.klikli_dev.theurgy.content.behaviour.filter.attribute.ItemAttribute;
 import com.klikli_dev.theurgy.registry.DataComponentRegistry;
+import com.klikli_dev.theurgy.util.ReloadGeneration;
 import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.objects.Object2BooleanLinkedOpenHashMap;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentPatch;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.level.Level;
@@ -19,11 +23,24 @@ import net.neoforged.neoforge.fluids.FluidStack;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Filters by item attributes, such as tags, enchantments or the mod that added an item.
+ * <p>
+ * Attributes only depend on the item and its data components, so results are memoized per (item, component patch).
+ * Tags and recipes can change on reload, so all memoized results are discarded then, see ReloadGeneration.
+ */
 public class AttributeFilter extends Filter {
+    /**
+     * The number of memoized results per filter, the least recently added results are evicted first.
+     */
+    public static final int MAX_CACHED_RESULTS = 256;
 
     public FilterMode filterMode;
     public List<Pair<ItemAttribute, Boolean>> attributeTests;
 
+    protected final Object2BooleanLinkedOpenHashMap<CacheKey> cachedResults = new Object2BooleanLinkedOpenHashMap<>();
+    protected int cachedResultsGeneration;
+
     protected AttributeFilter(HolderLookup.Provider provider, ItemStack filter) {
         super(provider, filter);
 
@@ -32,6 +49,9 @@ public class AttributeFilter extends Filter {
     @Override
     protected void initFromFilterItemStack(HolderLookup.Provider provider, ItemStack filterItemStack) {
         this.attributeTests = new ArrayList<>();
+        //initFromFilterItemStack is called from the super constructor, before our field initializers ran
+        if (this.cachedResults != null)
+            this.cachedResults.clear();
         this.filterMode = filterItemStack.getOrDefault(DataComponentRegistry.FILTER_MODE, FilterMode.ACCEPT_LIST_OR);
 
         //noinspection deprecation
@@ -51,6 +71,24 @@ public class AttributeFilter extends Filter {
         if (this.attributeTests.isEmpty())
             return true;
 
+        int generation = ReloadGeneration.get();
+        if (this.cachedResultsGeneration != generation) {
+            this.cachedResults.clear();
+            this.cachedResultsGeneration = generation;
+        }
+
+        var key = new CacheKey(stack.getItem(), stack.getComponentsPatch());
+        if (this.cachedResults.containsKey(key))
+            return this.cachedResults.getBoolean(key);
+
+        var result = this.testAttributes(level, stack);
+        if (this.cachedResults.size() >= MAX_CACHED_RESULTS)
+            this.cachedResults.removeFirstBoolean();
+        this.cachedResults.put(key, result);
+        return result;
+    }
+
+    private boolean testAttributes(Level level, ItemStack stack) {
         for (Pair<ItemAttribute, Boolean> test : this.attributeTests) {
             ItemAttribute attribute = test.getFirst();
             boolean inverted = test.getSecond();
@@ -99,4 +137,7 @@ public class AttributeFilter extends Filter {
     public boolean isEmpty() {
         return this.filterItemStack.isEmpty();
     }
+
+    protected record CacheKey(Item item, DataComponentPatch components) {
+    }
 }
\ No newline at end of file
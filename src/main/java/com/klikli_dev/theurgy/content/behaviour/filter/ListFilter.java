@@ -5,15 +5,26 @@
 package com.klikli_dev.theurgy.content.behaviour.filter;
 
 import com.klikli_dev.theurgy.registry.DataComponentRegistry;
+import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.material.Fluid;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.fluids.FluidStack;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Filters against the list of items stored in the filter item.
+ * <p>
+ * The list is compiled into hash sets when the filter is loaded, so testing a stack does not depend on the number of filter items.
+ */
 public class ListFilter extends Filter {
 
     public List<ItemStack> filterItems;
@@ -21,6 +32,16 @@ public class ListFilter extends Filter {
     public boolean shouldRespectDataComponents;
     public boolean isDenyList;
 
+    /**
+     * The items of all filter stacks, regardless of their data components.
+     */
+    protected Set<Item> filterItemTypes;
+    /**
+     * The filter stacks hashed by item and data components, only used if the filter respects data components.
+     */
+    protected Set<ItemStack> filterItemStacks;
+    protected Set<Fluid> filterFluidTypes;
+
     protected ListFilter(HolderLookup.Provider provider, ItemStack filter) {
         super(provider, filter);
     }
@@ -28,45 +49,66 @@ public class ListFilter extends Filter {
     @Override
     protected void initFromFilterItemStack(HolderLookup.Provider provider, ItemStack filterItemStack) {
         this.filterItems = this.getFilterItems(filterItemStack);
+        this.filterFluids = null; //resolved lazily from the new filter items
 
         this.shouldRespectDataComponents = filterItemStack.getOrDefault(DataComponentRegistry.FILTER_RESPECTS_DATA_COMPONENTS, false);
         this.isDenyList = filterItemStack.getOrDefault(DataComponentRegistry.FILTER_IS_DENY_LIST, false);
+
+        this.filterItemTypes = new ReferenceOpenHashSet<>();
+        this.filterItemStacks = new ObjectOpenCustomHashSet<>(ItemStackLinkedSet.TYPE_AND_TAG);
+        for (var filterItem : this.filterItems) {
+            this.filterItemTypes.add(filterItem.getItem());
+            if (this.shouldRespectDataComponents)
+                this.filterItemStacks.add(filterItem);
+        }
     }
 
     @Override
     public boolean test(Level world, ItemStack stack, boolean matchDataComponents) {
-        for (var filterItemStack : this.filterItems) {
-            if (this.testFilterItemStack(filterItemStack, stack, this.shouldRespectDataComponents))
-                return !this.isDenyList;
-        }
-
-        return this.isDenyList;
+        return this.matches(stack) != this.isDenyList;
     }
 
     @Override
     public boolean test(Level level, FluidStack stack, boolean matchDataComponents) {
         this.resolveFluids();
 
+        if (!this.filterFluidTypes.contains(stack.getFluid()))
+            return this.isDenyList;
+
+        if (!this.shouldRespectDataComponents)
+            return !this.isDenyList;
+
         for (var filterFluidStack : this.filterFluids) {
-            if (this.testFilterFluidStack(filterFluidStack, stack, this.shouldRespectDataComponents))
+            if (FluidStack.matches(filterFluidStack, stack))
                 return !this.isDenyList;
         }
 
         return this.isDenyList;
     }
 
+    private boolean matches(ItemStack stack) {
+        //the item set is checked first even with data components, as most stacks will not pass it
+        if (!this.filterItemTypes.contains(stack.getItem()))
+            return false;
+
+        return !this.shouldRespectDataComponents || this.filterItemStacks.contains(stack);
+    }
+
     private void resolveFluids() {
         if (this.filterFluids != null)
             return;
 
         this.filterFluids = new ArrayList<>();
+        this.filterFluidTypes = new ReferenceOpenHashSet<>();
 
         for (var filterItem : this.filterItems) {
             var capability = filterItem.getCapability(Capabilities.FluidHandler.ITEM);
             if (capability == null)
                 continue;
 
-            this.filterFluids.add(capability.getFluidInTank(0).copyWithAmount(1));
+            var fluid = capability.getFluidInTank(0).copyWithAmount(1);
+            this.filterFluids.add(fluid);
+            this.filterFluidTypes.add(fluid.getFluid());
         }
     }
 
@@ -75,22 +117,6 @@ public class ListFilter extends Filter {
         return this.filterItems.isEmpty();
     }
 
-    private boolean testFilterItemStack(ItemStack filterItemStack, ItemStack stackToTest, boolean matchDataComponents) {
-        if (matchDataComponents) {
-            return ItemStack.isSameItemSameComponents(filterItemStack, stackToTest);
-        } else {
-            return ItemStack.isSameItem(filterItemStack, stackToTest);
-        }
-    }
-
-    private boolean testFilterFluidStack(FluidStack filterFluidStack, FluidStack stackToTest, boolean matchDataComponents) {
-        if (matchDataComponents) {
-            return FluidStack.matches(filterFluidStack, stackToTest);
-        } else {
-            return FluidStack.isSameFluid(filterFluidStack, stackToTest);
-        }
-    }
-
     private List<ItemStack> getFilterItems(ItemStack filter) {
         var result = new ArrayList<ItemStack>();
 
@@ -15,6 +15,8 @@ public class HeatConsumerBehaviour {
     private final BlockEntity blockEntity;
     int CHECK_HEAT_TICK_INTERVAL = 20;
     private boolean heatedCache;
+    private boolean heatedByReceiverCache;
+    private long lastCheckedAt = -1;
 
     public HeatConsumerBehaviour(BlockEntity blockEntity) {
         this.blockEntity = blockEntity;
@@ -33,17 +35,20 @@ public class HeatConsumerBehaviour {
             var wasHeated = this.heatedCache;
 
             var isHeated = this.hasHeatProvider();
+            var isHeatedByReceiver = false;
 
             //if not heated from below, check if we get heat via our receiver capability
             if (!isHeated) {
                 var heatReceiver = this.blockEntity.getLevel().getCapability(CapabilityRegistry.HEAT_RECEIVER, this.blockEntity.getBlockPos(), this.blockEntity.getBlockState(), this.blockEntity, null);
 
                 if (heatReceiver != null) {
-                    isHeated = heatReceiver.getIsHotUntil() > this.blockEntity.getLevel().getGameTime();
+                    isHeated = isHeatedByReceiver = heatReceiver.getIsHotUntil() > this.blockEntity.getLevel().getGameTime();
                 }
             }
 
             this.heatedCache = isHeated;
+            this.heatedByReceiverCache = isHeatedByReceiver;
+            this.lastCheckedAt = this.blockEntity.getLevel().getGameTime();
 
             if (wasHeated != isHeated) {
                 if (this.blockEntity.getBlockState().hasProperty(BlockStateProperties.LIT)) {
@@ -55,4 +60,12 @@ public class HeatConsumerBehaviour {
         }
         return this.heatedCache;
     }
+
+    /**
+     * If the heated state was checked this tick, and can only change with a block update next to us or new heat received.
+     * A dormant block entity is woken by those, but not by received heat running out, see DormancyBehaviour.
+     */
+    public boolean canSleep() {
+        return this.lastCheckedAt == this.blockEntity.getLevel().getGameTime() && !this.heatedByReceiverCache;
+    }
 }
@@ -4,8 +4,11 @@
 
 package com.klikli_dev.theurgy.content.behaviour.logistics;
 
+import com.klikli_dev.theurgy.content.behaviour.filter.Filter;
 import com.klikli_dev.theurgy.content.behaviour.logistics.distribution.DistributionMode;
 import com.klikli_dev.theurgy.content.behaviour.logistics.distribution.Distributor;
+import com.klikli_dev.theurgy.logistics.Logistics;
+import com.klikli_dev.theurgy.logistics.LogisticsStats;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
 import net.minecraft.core.HolderLookup;
@@ -25,15 +28,30 @@ import java.util.List;
  */
 public abstract class ExtractorNodeBehaviour<T, C> extends LeafNodeBehaviour<T, C> {
 
+    /**
+     * Each idle extraction doubles the delay until the next one, up to extractionInterval() * 2^MAX_BACKOFF_SHIFT.
+     */
+    public static final int MAX_BACKOFF_SHIFT = 3;
+
     protected List<InsertTarget<T, C>> insertTargets;
+    /**
+     * The subset of insertTargets that is currently live. This is the list the distributor works on.
+     */
+    protected List<InsertTarget<T, C>> liveInsertTargets;
     protected List<BlockCapabilityCache<T, C>> extractTargets;
     protected Distributor<T, C> distributor;
+    /**
+     * The number of extraction ticks in a row that did not move anything.
+     */
+    protected int idleExtractions;
+    protected LogisticsStats stats = new LogisticsStats();
 
     public ExtractorNodeBehaviour(BlockEntity blockEntity, BlockCapability<T, C> capabilityType) {
         super(blockEntity, capabilityType);
         this.insertTargets = new ArrayList<>();
+        this.liveInsertTargets = new ArrayList<>();
         this.extractTargets = new ArrayList<>();
-        this.distributor = DistributionMode.createDistributor(DistributionMode.ROUND_ROBIN, this.insertTargets);
+        this.distributor = DistributionMode.createDistributor(DistributionMode.ROUND_ROBIN, this.liveInsertTargets);
     }
 
     //TODO: if we end up with nodes that can support multiple capability types we need to rework this
@@ -46,20 +64,47 @@ public abstract class ExtractorNodeBehaviour<T, C> extends LeafNodeBehaviour<T,
     }
 
     /**
-     * Gets the list of cached block entities connected to insert nodes that this extractor will insert into
+     * Gets the list of cached block entities connected to insert nodes that this extractor will insert into.
+     * Includes targets that are currently not live, e.g. because their chunk is unloaded.
      */
     public List<InsertTarget<T, C>> insertTargets() {
         return this.insertTargets;
     }
 
+    /**
+     * Gets the insert targets that are loaded and provided a capability the last time we looked.
+     */
+    public List<InsertTarget<T, C>> liveInsertTargets() {
+        return this.liveInsertTargets;
+    }
+
     public void resetInsertTargets() {
         this.insertTargets.clear();
+        this.liveInsertTargets.clear();
+        this.distributor.onTargetsChanged();
     }
 
     public List<BlockCapabilityCache<T, C>> extractTargets() {
         return this.extractTargets;
     }
 
+    @Override
+    public void filter(Filter filter) {
+        super.filter(filter);
+        this.wakeUp(); //a changed filter may allow us to move items we previously could not
+    }
+
+    public DistributionMode distributionMode() {
+        return this.distributor.mode();
+    }
+
+    public void distributionMode(DistributionMode mode) {
+        if (this.distributor.mode() != mode) {
+            this.distributor = DistributionMode.createDistributor(mode, this.liveInsertTargets);
+            this.wakeUp(); //a different mode may find room where the previous one did not
+        }
+    }
+
     /**
      * Called if a leaf node is added to the graph.
      * Should be used to update the cached insertTargets.
@@ -122,11 +167,59 @@ public abstract class ExtractorNodeBehaviour<T, C> extends LeafNodeBehaviour<T,
         this.removeInsertTarget(pos);
     }
 
+    /**
+     * Called if the chunk of a single target was unloaded.
+     * The target is kept, but no longer handed to the distributor until it is loaded again (see onTargetAddedToGraph).
+     */
+    public void onTargetUnloaded(GlobalPos pos, LeafNodeBehaviour<T, C> leafNode) {
+        if (leafNode.mode() != LeafNodeMode.INSERT)
+            return; //as we are only caching insert mode all other nodes are not relevant
+
+        boolean changed = false;
+        for (var insertTarget : this.insertTargets) {
+            if (insertTarget.live() && this.isAt(insertTarget, pos.dimension(), pos.pos())) {
+                insertTarget.live(false);
+                changed = true;
+            }
+        }
+        if (changed)
+            this.updateLiveInsertTargets();
+    }
+
+    /**
+     * Marks a target as not live, e.g. because its capability was null during extraction.
+     * It becomes live again once the capability is invalidated and re-added by its inserter.
+     * Call updateLiveInsertTargets() afterwards, this is not done here so it can be called while iterating the live targets.
+     */
+    protected void markNotLive(InsertTarget<T, C> insertTarget) {
+        insertTarget.live(false);
+    }
+
+    /**
+     * Rebuilds the live insert targets from the live state of all targets and informs the distributor.
+     */
+    protected void updateLiveInsertTargets() {
+        this.liveInsertTargets.clear();
+        for (var insertTarget : this.insertTargets) {
+            if (insertTarget.live())
+                this.liveInsertTargets.add(insertTarget);
+        }
+        this.distributor.onTargetsChanged();
+    }
+
     protected void addInsertTarget(InserterNodeBehaviour<T, C> inserter, BlockCapabilityCache<T, C> capability) {
         var insertTarget = new InsertTarget<>(inserter, capability);
-        if (!this.insertTargets().contains(insertTarget)){
-            this.insertTargets().add(insertTarget);
+        var index = this.insertTargets.indexOf(insertTarget);
+        if (index < 0) {
+            this.insertTargets.add(insertTarget);
+            this.liveInsertTargets.add(insertTarget);
             this.distributor.onTargetsChanged();
+            this.wakeUp(); //we may have been waiting for somewhere to put things
+        } else if (!this.insertTargets.get(index).live()) {
+            //known target that was loaded again
+            this.insertTargets.get(index).live(true);
+            this.updateLiveInsertTargets();
+            this.wakeUp();
         }
     }
 
@@ -135,53 +228,150 @@ public abstract class ExtractorNodeBehaviour<T, C> extends LeafNodeBehaviour<T,
     }
 
     protected void removeInsertTarget(ResourceKey<Level> dimension, BlockPos pos) {
-        if(this.insertTargets().removeIf(cached -> cached.capability().level().dimension().equals(dimension) && cached.capability().pos().equals(pos))){
+        if (this.insertTargets.removeIf(cached -> this.isAt(cached, dimension, pos))) {
+            this.liveInsertTargets.removeIf(cached -> this.isAt(cached, dimension, pos));
             this.distributor.onTargetsChanged();
         }
     }
 
+    private boolean isAt(InsertTarget<T, C> insertTarget, ResourceKey<Level> dimension, BlockPos pos) {
+        return insertTarget.capability().level().dimension().equals(dimension) && insertTarget.capability().pos().equals(pos);
+    }
+
     @Override
     public void onLoad() {
         //targets are filled via load(tag) on the parent, the NBT in turn is provided by the BlockItem.
         this.rebuildExtractTargets();
 
         super.onLoad();
+
+        //extraction is not driven by the block entity ticker, but by the per-level scheduler
+        Logistics.get().scheduler(this.level().dimension()).register(this);
+    }
+
+    @Override
+    public void onChunkUnload() {
+        Logistics.get().scheduler(this.level().dimension()).unregister(this);
+
+        super.onChunkUnload();
+    }
+
+    @Override
+    public void onDestroyed() {
+        Logistics.get().scheduler(this.level().dimension()).unregister(this);
+
+        super.onDestroyed();
+    }
+
+    public LogisticsStats stats() {
+        return this.stats;
+    }
+
+    public boolean isRemoved() {
+        return this.blockEntity.isRemoved();
     }
 
     public void rebuildExtractTargets() {
         this.extractTargets.clear();
         this.extractTargets.addAll(this.buildTargetCapabilities(this.targets()));
+        this.wakeUp();
     }
 
     /**
      * Target capabilities are built irrespective of if the target is blockloaded or not.
      * The invalidator will be called if the loaded state changes (or if the target is destroyed).
-     * The target capabilities will be updated accordingly.
+     * We use it to wake up from idle backoff, as a changed extract target may have something to extract.
      */
     public List<BlockCapabilityCache<T, C>> buildTargetCapabilities(List<BlockPos> targets) {
         var serverLevel = (ServerLevel) this.level();
         return targets.stream()
-                .map(target -> BlockCapabilityCache.create(this.capabilityType(), serverLevel, target, this.getTargetContext(target))).toList();
+                .map(target -> BlockCapabilityCache.create(this.capabilityType(), serverLevel, target, this.getTargetContext(target),
+                        //only listen to the invalidator if we (the BE) still exist.
+                        () -> !this.blockEntity.isRemoved(),
+                        this::wakeUp)).toList();
+    }
+
+    /**
+     * Call if the block entity at the given position changed, e.g. from Block.onNeighborChange().
+     * Wakes the extractor up if the position is one of our extract targets.
+     */
+    public void onNeighborChanged(BlockPos neighbor) {
+        if (this.targets().contains(neighbor)) {
+            this.wakeUp();
+        }
+    }
+
+    /**
+     * Resets the idle backoff and asks the scheduler to run the next extraction as soon as possible.
+     * Cheap to call if the extractor is not idle.
+     */
+    public void wakeUp() {
+        this.idleExtractions = 0;
+
+        if (this.level() instanceof ServerLevel serverLevel) {
+            Logistics.get().scheduler(serverLevel.dimension()).wake(this);
+        }
+    }
+
+    /**
+     * Called by the LogisticsScheduler when this extractor is due.
+     * Performs an extraction and keeps track of idle extractions for the backoff.
+     */
+    public void tickScheduled() {
+        long start = System.nanoTime();
+        boolean moved = this.tickExtraction();
+        this.stats.recordExtraction(System.nanoTime() - start, moved);
+
+        if (moved) {
+            this.idleExtractions = 0;
+        } else if (this.idleExtractions < MAX_BACKOFF_SHIFT) {
+            this.idleExtractions++;
+        }
+    }
+
+    /**
+     * The number of ticks until the next extraction, backed off exponentially if the last extractions did not move anything.
+     */
+    public int nextExtractionDelay() {
+        return this.extractionInterval() << this.idleExtractions;
     }
 
-    public void tickServer() {
+    /**
+     * A dormant extractor cannot move anything until something changes, so it is not rescheduled until wakeUp() is called.
+     * Subclasses should call wakeUp() whenever a condition checked here changes.
+     */
+    public boolean isDormant() {
+        return this.liveInsertTargets.isEmpty() || this.extractTargets.isEmpty();
     }
 
+    /**
+     * Performs one extraction.
+     *
+     * @return true if anything was moved.
+     */
+    public abstract boolean tickExtraction();
+
+    /**
+     * The number of ticks between two calls to tickExtraction() while the extractor is busy.
+     */
+    public abstract int extractionInterval();
+
     @Override
-    public void saveAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
-        super.saveAdditional(pTag, pRegistries);
+    public void writeNetwork(CompoundTag pTag, HolderLookup.Provider pRegistries) {
+        super.writeNetwork(pTag, pRegistries);
+        //part of the network data so the mercurial wand can display the current mode on the client
         pTag.putByte("distributor", (byte) this.distributor.mode().ordinal());
     }
 
     @Override
-    public void loadAdditional(CompoundTag pTag, HolderLookup.Provider pRegistries) {
-        super.loadAdditional(pTag, pRegistries);
+    public void readNetwork(CompoundTag pTag, HolderLookup.Provider pRegistries) {
+        super.readNetwork(pTag, pRegistries);
 
         DistributionMode mode = DistributionMode.ROUND_ROBIN;
         if (pTag.contains("distributor")) {
             mode = DistributionMode.values()[pTag.getByte("distributor")];
         }
-        this.distributor = DistributionMode.createDistributor(mode, this.insertTargets);
+        this.distributionMode(mode);
     }
 
     /**
@@ -6,5 +6,61 @@ package com.klikli_dev.theurgy.content.behaviour.logistics;
 
 import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 
-public record InsertTarget<T, C>(InserterNodeBehaviour<T, C> inserter, BlockCapabilityCache<T, C> capability) {
+/**
+ * A target an extractor can insert into.
+ * <p>
+ * Targets stay known to the extractor while their chunk is unloaded, but are not live then.
+ * Only live targets are handed to the distributor, see ExtractorNodeBehaviour.liveInsertTargets().
+ */
+public final class InsertTarget<T, C> {
+    private final InserterNodeBehaviour<T, C> inserter;
+    private final BlockCapabilityCache<T, C> capability;
+    private boolean live;
+
+    public InsertTarget(InserterNodeBehaviour<T, C> inserter, BlockCapabilityCache<T, C> capability) {
+        this.inserter = inserter;
+        this.capability = capability;
+        this.live = true;
+    }
+
+    public InserterNodeBehaviour<T, C> inserter() {
+        return this.inserter;
+    }
+
+    public BlockCapabilityCache<T, C> capability() {
+        return this.capability;
+    }
+
+    /**
+     * @return true if the target is loaded and provided a capability the last time we looked.
+     */
+    public boolean live() {
+        return this.live;
+    }
+
+    public void live(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * Behaviours and capability caches are compared by identity, the live state is not part of the identity.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof InsertTarget<?, ?> other))
+            return false;
+        return this.inserter == other.inserter && this.capability == other.capability;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(this.inserter) + System.identityHashCode(this.capability);
+    }
+
+    @Override
+    public String toString() {
+        return "InsertTarget[inserter=" + this.inserter + ", capability=" + this.capability + ", live=" + this.live + "]";
+    }
 }
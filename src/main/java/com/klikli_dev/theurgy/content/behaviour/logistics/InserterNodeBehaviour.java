@@ -65,12 +65,17 @@ public abstract class InserterNodeBehaviour<T, C> extends LeafNodeBehaviour<T, C
 
         //a valid target means the capability changed but is still there.
         //an invalid target means removed/unloaded.
-        var targetValid = serverLevel.isLoaded(targetPos) && serverLevel.getBlockEntity(targetPos) != null;
+        var targetLoaded = serverLevel.isLoaded(targetPos);
+        var targetValid = targetLoaded && serverLevel.getBlockEntity(targetPos) != null;
 
         var targetGlobalPos = GlobalPos.of(serverLevel.dimension(), targetPos);
 
         var network = Logistics.get().getNetwork(this.globalPos());
-        if (network != null) {
+        if (network != null && !targetLoaded && !forceSetRemoved) {
+            //an unloaded target is only marked as not live, so the extractors skip it without forgetting it.
+            //once it is loaded again the invalidator is called again and it is re-added below.
+            network.onInserterNodeTargetUnloaded(targetGlobalPos, leafNode);
+        } else if (network != null) {
             //always call remove to ensure the target is removed from the graph if it was changed
             //this avoids duplicates because we don't know if any extractor nodes already had it in their list
             network.onInserterNodeTargetRemoved(targetGlobalPos, leafNode);
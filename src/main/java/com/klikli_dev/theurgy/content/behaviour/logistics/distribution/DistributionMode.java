@@ -4,19 +4,54 @@
 
 package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
 
+import com.klikli_dev.theurgy.TheurgyConstants;
 import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
 
 import java.util.List;
 
 public enum DistributionMode {
+    //Note: the ordinal is persisted, so new modes must only be appended.
     SINGLE_TARGET,
-    ROUND_ROBIN;
+    ROUND_ROBIN,
+    /**
+     * Splits the extracted amount evenly across all targets, targets with less space overflow into the others.
+     */
+    EVEN_SPLIT,
+    /**
+     * Splits the extracted amount proportionally to the free capacity of each target.
+     */
+    WEIGHTED,
+    /**
+     * Fills the first target, and only overflows into the next target once it is full.
+     */
+    FILL_FIRST;
+
+    /**
+     * The mode that follows this one when cycling, skipping modes that cannot be selected.
+     */
+    public DistributionMode next() {
+        var next = values()[(this.ordinal() + 1) % values().length];
+        return next == SINGLE_TARGET ? next.next() : next;
+    }
+
+    public String descriptionId() {
+        return switch (this) {
+            case SINGLE_TARGET -> TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_SINGLE_TARGET;
+            case ROUND_ROBIN -> TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_ROUND_ROBIN;
+            case EVEN_SPLIT -> TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_EVEN_SPLIT;
+            case WEIGHTED -> TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_WEIGHTED;
+            case FILL_FIRST -> TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_FILL_FIRST;
+        };
+    }
 
     public static <T, C> Distributor<T, C> createDistributor(DistributionMode mode, List<InsertTarget<T, C>> targets) {
         return switch (mode) {
             //Note: We should not implement single target, it can be achieved with frequencies
             case SINGLE_TARGET -> throw new IllegalArgumentException("Not yet implemented: " + mode);
             case ROUND_ROBIN -> new RoundRobinDistributor<>(targets);
+            case EVEN_SPLIT -> new EvenSplitDistributor<>(targets);
+            case WEIGHTED -> new WeightedDistributor<>(targets);
+            case FILL_FIRST -> new FillFirstDistributor<>(targets);
             default -> throw new IllegalArgumentException("Unknown distribution mode: " + mode);
         };
     }
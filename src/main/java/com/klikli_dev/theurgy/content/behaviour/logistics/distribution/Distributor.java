@@ -5,10 +5,16 @@
 package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
 
 import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
-import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 
 import java.util.List;
 
+/**
+ * Decides which insert targets an extractor moves its extracted resources into, and how much each of them receives.
+ * <p>
+ * Extractors use distributors in a simulate-then-commit fashion:
+ * They simulate extraction once, simulate insertion into all currentTargets(), let split() decide the amounts, and then commit.
+ * The simulated insertion only tells how much of the current batch fits, distributors that need to know how much room each target has overall request it with needsFreeSpace().
+ */
 public abstract class Distributor<T, C> {
     protected List<InsertTarget<T, C>> targets;
 
@@ -18,8 +24,35 @@ public abstract class Distributor<T, C> {
 
     public abstract DistributionMode mode();
 
+    /**
+     * The primary target for the current extraction tick, or null if there is none.
+     */
     public abstract InsertTarget<T, C> target();
 
+    /**
+     * The targets to consider in the current extraction tick, in order of priority.
+     */
+    public abstract List<InsertTarget<T, C>> currentTargets();
+
+    /**
+     * If split() needs the actual free space of each target.
+     * Computing it means looking at every slot or tank of every target, so extractors only do so if this returns true.
+     */
+    public boolean needsFreeSpace() {
+        return false;
+    }
+
+    /**
+     * Splits the available amount across currentTargets().
+     *
+     * @param available  the amount that can be extracted (simulated).
+     * @param capacities the amount of the current batch each target in currentTargets() can accept (simulated), in the same order.
+     * @param freeSpace  the total amount of the extracted resource each target can still hold, in the same order.
+     *                   Only computed if needsFreeSpace() returns true, otherwise extractors pass the capacities.
+     * @return the amount to insert into each target, in the same order. The sum never exceeds available, and no entry exceeds its capacity.
+     */
+    public abstract int[] split(int available, int[] capacities, int[] freeSpace);
+
     public abstract void tick();
 
     /**
@@ -0,0 +1,58 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
+
+import java.util.List;
+
+public class EvenSplitDistributor<T, C> extends SplittingDistributor<T, C> {
+
+    public EvenSplitDistributor(List<InsertTarget<T, C>> targets) {
+        super(targets);
+    }
+
+    @Override
+    public DistributionMode mode() {
+        return DistributionMode.EVEN_SPLIT;
+    }
+
+    @Override
+    public int[] split(int available, int[] capacities, int[] freeSpace) {
+        int n = capacities.length;
+        int[] result = new int[n];
+        int remaining = available;
+
+        int open = 0;
+        for (int capacity : capacities) {
+            if (capacity > 0)
+                open++;
+        }
+
+        //each round gives every target with space an equal share, targets that can't take their full share overflow into the next round
+        while (remaining > 0 && open > 0) {
+            int share = remaining / open;
+            if (share == 0)
+                break; //less than one unit per target left -> handled as remainder
+
+            open = 0;
+            for (int i = 0; i < n; i++) {
+                int space = capacities[i] - result[i];
+                if (space <= 0)
+                    continue;
+
+                int added = Math.min(share, space);
+                result[i] += added;
+                remaining -= added;
+
+                if (result[i] < capacities[i])
+                    open++;
+            }
+        }
+
+        this.distributeRemainder(remaining, capacities, result);
+        return result;
+    }
+}
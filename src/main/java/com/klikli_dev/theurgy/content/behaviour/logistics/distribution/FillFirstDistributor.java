@@ -0,0 +1,34 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
+
+import java.util.List;
+
+public class FillFirstDistributor<T, C> extends SplittingDistributor<T, C> {
+
+    public FillFirstDistributor(List<InsertTarget<T, C>> targets) {
+        super(targets);
+    }
+
+    @Override
+    public DistributionMode mode() {
+        return DistributionMode.FILL_FIRST;
+    }
+
+    @Override
+    public int[] split(int available, int[] capacities, int[] freeSpace) {
+        int[] result = new int[capacities.length];
+        int remaining = available;
+
+        //targets are served in order, the next one only receives what overflows from the previous ones
+        for (int i = 0; i < capacities.length && remaining > 0; i++) {
+            result[i] = Math.min(Math.max(0, capacities[i]), remaining);
+            remaining -= result[i];
+        }
+        return result;
+    }
+}
@@ -5,7 +5,6 @@
 package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
 
 import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
-import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 
 import java.util.List;
 
@@ -27,6 +26,21 @@ public class RoundRobinDistributor<T, C> extends Distributor<T, C>{
         return this.cachedTarget;
     }
 
+    @Override
+    public List<InsertTarget<T, C>> currentTargets() {
+        return this.cachedTarget == null ? List.of() : List.of(this.cachedTarget);
+    }
+
+    @Override
+    public int[] split(int available, int[] capacities, int[] freeSpace) {
+        //round robin only ever has one current target, it gets as much as it can take
+        int[] result = new int[capacities.length];
+        if (capacities.length > 0) {
+            result[0] = Math.min(Math.max(0, capacities[0]), available);
+        }
+        return result;
+    }
+
     @Override
     public void tick() {
         var oldIndex = this.currentTargetIndex;
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
+
+import java.util.List;
+
+/**
+ * Base class for distributors that serve all targets within a single extraction tick.
+ * Amounts that cannot be split evenly are handed out one by one, starting at a target that rotates each tick, so no target is favoured over time.
+ */
+public abstract class SplittingDistributor<T, C> extends Distributor<T, C> {
+    protected int remainderOffset;
+
+    public SplittingDistributor(List<InsertTarget<T, C>> targets) {
+        super(targets);
+    }
+
+    @Override
+    public InsertTarget<T, C> target() {
+        return this.targets.isEmpty() ? null : this.targets.getFirst();
+    }
+
+    @Override
+    public List<InsertTarget<T, C>> currentTargets() {
+        return this.targets;
+    }
+
+    @Override
+    public void tick() {
+        if (this.targets.isEmpty()) {
+            this.remainderOffset = 0;
+        } else {
+            this.remainderOffset = (this.remainderOffset + 1) % this.targets.size();
+        }
+    }
+
+    @Override
+    public void onTargetsChanged() {
+        if (this.remainderOffset >= this.targets.size()) {
+            this.remainderOffset = 0;
+        }
+    }
+
+    /**
+     * Hands out the remaining amount one unit at a time to targets that still have space, starting at the remainder offset.
+     *
+     * @return the amount that could not be handed out because all targets are full.
+     */
+    protected int distributeRemainder(int remaining, int[] capacities, int[] result) {
+        int n = capacities.length;
+        if (n == 0)
+            return remaining;
+
+        boolean progress = true;
+        while (remaining > 0 && progress) {
+            progress = false;
+            for (int k = 0; k < n && remaining > 0; k++) {
+                int i = (this.remainderOffset + k) % n;
+                if (result[i] < capacities[i]) {
+                    result[i]++;
+                    remaining--;
+                    progress = true;
+                }
+            }
+        }
+        return remaining;
+    }
+}
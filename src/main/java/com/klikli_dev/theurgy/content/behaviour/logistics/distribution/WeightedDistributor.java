@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.behaviour.logistics.distribution;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.InsertTarget;
+
+import java.util.List;
+
+public class WeightedDistributor<T, C> extends SplittingDistributor<T, C> {
+
+    public WeightedDistributor(List<InsertTarget<T, C>> targets) {
+        super(targets);
+    }
+
+    @Override
+    public DistributionMode mode() {
+        return DistributionMode.WEIGHTED;
+    }
+
+    @Override
+    public boolean needsFreeSpace() {
+        return true;
+    }
+
+    @Override
+    public int[] split(int available, int[] capacities, int[] freeSpace) {
+        int n = capacities.length;
+        int[] result = new int[n];
+
+        long totalCapacity = 0;
+        for (int capacity : capacities) {
+            totalCapacity += Math.max(0, capacity);
+        }
+
+        if (totalCapacity <= available) {
+            //everything fits, so everyone gets filled up
+            for (int i = 0; i < n; i++) {
+                result[i] = Math.max(0, capacities[i]);
+            }
+            return result;
+        }
+
+        //targets are weighted by their total free space, the capacity for this batch only caps what they receive
+        long[] weights = new long[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = capacities[i] > 0 ? Math.max(freeSpace[i], capacities[i]) : 0;
+        }
+
+        //each round gives every target that is not capped yet its share proportional to its weight, rounded down
+        //targets that hit their capacity drop out and their share is handed to the others in the next round
+        int remaining = available;
+        while (remaining > 0) {
+            long totalWeight = 0;
+            for (int i = 0; i < n; i++) {
+                if (result[i] < capacities[i])
+                    totalWeight += weights[i];
+            }
+            if (totalWeight == 0)
+                break;
+
+            int handedOut = 0;
+            for (int i = 0; i < n; i++) {
+                if (result[i] >= capacities[i])
+                    continue;
+
+                int share = (int) Math.min(capacities[i] - result[i], remaining * weights[i] / totalWeight);
+                result[i] += share;
+                handedOut += share;
+            }
+            if (handedOut == 0)
+                break; //less than one unit per target left -> handled as remainder
+            remaining -= handedOut;
+        }
+
+        this.distributeRemainder(remaining, capacities, result);
+        return result;
+    }
+}
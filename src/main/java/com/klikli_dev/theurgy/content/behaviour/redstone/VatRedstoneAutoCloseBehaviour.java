@@ -43,7 +43,7 @@ public class VatRedstoneAutoCloseBehaviour<R extends Recipe<?>> extends BlockEnt
      * If a redstone signal is present, the vat is open, and we have a valid recipe, then close.
      */
     protected void tryAutoClose(){
-        boolean hasSignal = RedstoneUtil.hasNeighborSignal(this.level(), this.getBlockPos(), this.getBlockState().getValue(BlockStateProperties.HORIZONTAL_FACING).getOpposite());
+        boolean hasSignal = this.hasSignal();
         boolean wasOpen = this.getBlockState().getValue(BlockStateProperties.OPEN);
         if (hasSignal && wasOpen) {
             var recipe = this.hasCraftingBehaviour.craftingBehaviour().getRecipe();
@@ -52,4 +52,11 @@ public class VatRedstoneAutoCloseBehaviour<R extends Recipe<?>> extends BlockEnt
             }
         }
     }
+
+    /**
+     * If a redstone signal is present, ignoring the front of the vat.
+     */
+    public boolean hasSignal(){
+        return RedstoneUtil.hasNeighborSignal(this.level(), this.getBlockPos(), this.getBlockState().getValue(BlockStateProperties.HORIZONTAL_FACING).getOpposite());
+    }
 }
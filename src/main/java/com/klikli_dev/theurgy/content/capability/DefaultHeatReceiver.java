@@ -8,9 +8,22 @@ import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.LongTag;
 import net.minecraft.nbt.Tag;
 import net.neoforged.neoforge.common.util.INBTSerializable;
+import org.jetbrains.annotations.Nullable;
 
 public class DefaultHeatReceiver implements HeatReceiver, INBTSerializable<Tag> {
     protected long isHotUntil;
+    @Nullable
+    protected Runnable onHeatReceived;
+
+    public DefaultHeatReceiver() {
+    }
+
+    /**
+     * @param onHeatReceived called whenever heat is received, e.g. to wake the receiving block entity.
+     */
+    public DefaultHeatReceiver(Runnable onHeatReceived) {
+        this.onHeatReceived = onHeatReceived;
+    }
 
     @Override
     public Tag serializeNBT(HolderLookup.Provider provider) {
@@ -27,6 +40,8 @@ public class DefaultHeatReceiver implements HeatReceiver, INBTSerializable<Tag>
     @Override
     public void setHotUntil(long gameTime) {
         this.isHotUntil = gameTime;
+        if (this.onHeatReceived != null)
+            this.onHeatReceived.run();
     }
 
     @Override
@@ -97,18 +97,18 @@ public class DivinationRodItem extends Item {
         return ItemStack.EMPTY;
     }
 
-    private static void scanLinkedBlock(Player player, Holder<Block> blockHolder, int range, int duration) {
+    private static void scanLinkedBlock(Player player, Holder<Block> blockHolder, int range) {
         var blocks = getScanTargetsForId(blockHolder.unwrapKey().get().location());
-        ScanManager.get().beginScan(player, blocks, range, duration);
+        ScanManager.get().beginScan(player, blocks, range);
     }
 
-    private static void scanLinkedTag(Player player, TagKey<Block> tagKey, int range, int duration) {
+    private static void scanLinkedTag(Player player, TagKey<Block> tagKey, int range) {
         var blocks = BuiltInRegistries.BLOCK.getTag(tagKey)
                 .map(tag -> tag.stream().map(Holder::value).collect(Collectors.toSet()))
                 .orElse(Collections.emptySet());
 
         if (!blocks.isEmpty()) {
-            ScanManager.get().beginScan(player, blocks, range, duration);
+            ScanManager.get().beginScan(player, blocks, range);
         }
     }
 
@@ -167,13 +167,6 @@ public class DivinationRodItem extends Item {
         return stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_MAX_DAMAGE, 1);
     }
 
-    @Override
-    public void onUseTick(Level pLevel, LivingEntity pLivingEntity, ItemStack pStack, int pRemainingUseDuration) {
-        if (pLivingEntity.level().isClientSide && pLivingEntity instanceof Player player) {
-            ScanManager.get().updateScan(player, false);
-        }
-    }
-
     @Override
     public InteractionResult useOn(UseOnContext context) {
         Level level = context.getLevel();
@@ -267,13 +260,11 @@ public class DivinationRodItem extends Item {
                     if (stack.has(DataComponentRegistry.DIVINATION_LINKED_TAG)) {
                         scanLinkedTag(player,
                                 stack.get(DataComponentRegistry.DIVINATION_LINKED_TAG),
-                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_RANGE, this.defaultRange),
-                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_DURATION, this.defaultDuration));
+                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_RANGE, this.defaultRange));
                     } else if(stack.has(DataComponentRegistry.DIVINATION_LINKED_BLOCK)){
                         scanLinkedBlock(player,
                                 stack.get(DataComponentRegistry.DIVINATION_LINKED_BLOCK),
-                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_RANGE, this.defaultRange),
-                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_DURATION, this.defaultDuration));
+                                stack.getOrDefault(DataComponentRegistry.DIVINATION_SETTINGS_RANGE, this.defaultRange));
                     }
                 }
             } else if (!level.isClientSide) {
@@ -304,16 +295,18 @@ public class DivinationRodItem extends Item {
         stack.set(DataComponentRegistry.DIVINATION_DISTANCE, NOT_FOUND);
 
         if (level.isClientSide) {
-            BlockPos result = ScanManager.get().finishScan(player);
-            float distance = this.getDistance(player.position(), result);
-            stack.set(DataComponentRegistry.DIVINATION_DISTANCE, distance);
+            //the scan may still be running, so the result is applied once it is ready
+            ScanManager.get().finishScan(player, result -> {
+                float distance = this.getDistance(player.position(), result);
+                stack.set(DataComponentRegistry.DIVINATION_DISTANCE, distance);
 
-            Networking.sendToServer(new MessageSetDivinationResult(result, distance));
+                Networking.sendToServer(new MessageSetDivinationResult(result, distance));
 
-            if (result != null) {
-                stack.set(DataComponentRegistry.DIVINATION_POS, result);
-                this.spawnResultParticle(result, level, player);
-            }
+                if (result != null) {
+                    stack.set(DataComponentRegistry.DIVINATION_POS, result);
+                    this.spawnResultParticle(result, level, player);
+                }
+            });
         } else {
             //no damage for players in creative mode
             if (!player.getAbilities().instabuild)
@@ -0,0 +1,13 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.item.mode;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.distribution.DistributionMode;
+
+public interface DistributionModeSetter {
+    void distributionMode(DistributionMode mode);
+
+    DistributionMode distributionMode();
+}
@@ -0,0 +1,152 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.content.recipe;
+
+import com.klikli_dev.theurgy.util.ReloadGeneration;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.material.Fluid;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.crafting.FluidIngredient;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Index of the recipes of a recipe type by the items and fluids their ingredients accept.
+ * Used by the custom cached checks to find a recipe for a single item or fluid without testing every recipe of the type.
+ * <p>
+ * Ingredients that can not list all items or fluids they accept (non-simple custom ingredients) are tested for every lookup.
+ * The index is shared per recipe manager and type, and is rebuilt when recipes or tags are reloaded.
+ */
+public class RecipeIndex<R extends Recipe<?>> {
+
+    /**
+     * Recipe managers are replaced on reload on the server, the weak keys let the old indices be collected.
+     */
+    private static final Map<RecipeManager, Map<RecipeType<?>, RecipeIndex<?>>> indices = Collections.synchronizedMap(new WeakHashMap<>());
+    private final int builtGeneration;
+    /**
+     * The position of each recipe in the recipe manager, so we can return the same recipe a linear search would.
+     */
+    private final Reference2IntOpenHashMap<RecipeHolder<R>> order = new Reference2IntOpenHashMap<>();
+    private final Map<Item, List<RecipeHolder<R>>> byItem = new Reference2ObjectOpenHashMap<>();
+    private final List<RecipeHolder<R>> itemFallback = new ArrayList<>();
+    private final Map<Fluid, List<RecipeHolder<R>>> byFluid = new Reference2ObjectOpenHashMap<>();
+    private final List<RecipeHolder<R>> fluidFallback = new ArrayList<>();
+
+    private RecipeIndex(Collection<RecipeHolder<R>> recipes, Function<R, ? extends Collection<Ingredient>> itemIngredients, Function<R, ? extends Collection<FluidIngredient>> fluidIngredients) {
+        this.builtGeneration = ReloadGeneration.get();
+
+        for (var recipe : recipes) {
+            this.order.put(recipe, this.order.size());
+
+            for (var ingredient : itemIngredients.apply(recipe.value())) {
+                if (!ingredient.isSimple()) {
+                    addOnce(this.itemFallback, recipe);
+                    continue;
+                }
+                for (var stack : ingredient.getItems()) {
+                    addOnce(this.byItem.computeIfAbsent(stack.getItem(), i -> new ArrayList<>()), recipe);
+                }
+            }
+
+            for (var ingredient : fluidIngredients.apply(recipe.value())) {
+                if (!ingredient.isSimple()) {
+                    addOnce(this.fluidFallback, recipe);
+                    continue;
+                }
+                for (var stack : ingredient.getStacks()) {
+                    addOnce(this.byFluid.computeIfAbsent(stack.getFluid(), f -> new ArrayList<>()), recipe);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the index for the given recipe type, building it if needed.
+     *
+     * @param itemIngredients  the item ingredients of a recipe to index.
+     * @param fluidIngredients the fluid ingredients of a recipe to index.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Recipe<?>> RecipeIndex<R> get(RecipeManager recipeManager, RecipeType<R> type, Function<R, ? extends Collection<Ingredient>> itemIngredients, Function<R, ? extends Collection<FluidIngredient>> fluidIngredients) {
+        synchronized (indices) {
+            var indicesPerType = indices.computeIfAbsent(recipeManager, m -> new Reference2ObjectOpenHashMap<>());
+            var index = (RecipeIndex<R>) indicesPerType.get(type);
+            if (index == null || index.builtGeneration != ReloadGeneration.get()) {
+                index = new RecipeIndex<>(recipeManager.byType(type), itemIngredients, fluidIngredients);
+                indicesPerType.put(type, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Increased on tag and recipe updates, anything caching recipe lookups can compare it to see if it is outdated.
+     * Ingredients resolve their tags when the index is built, so indices are rebuilt on tag updates too.
+     */
+    public static int generation() {
+        return ReloadGeneration.get();
+    }
+
+    private static <R extends Recipe<?>> void addOnce(List<RecipeHolder<R>> recipes, RecipeHolder<R> recipe) {
+        //recipes are added in order, so if it is already in the list it is the last element
+        if (recipes.isEmpty() || recipes.get(recipes.size() - 1) != recipe)
+            recipes.add(recipe);
+    }
+
+    /**
+     * Finds the first recipe for the item, in recipe manager order.
+     *
+     * @param matches the actual test, the index only narrows down the recipes to test.
+     */
+    public Optional<RecipeHolder<R>> findFirst(ItemStack stack, Predicate<R> matches) {
+        return this.findFirst(this.byItem.getOrDefault(stack.getItem(), List.of()), this.itemFallback, matches);
+    }
+
+    /**
+     * Finds the first recipe for the fluid, in recipe manager order.
+     *
+     * @param matches the actual test, the index only narrows down the recipes to test.
+     */
+    public Optional<RecipeHolder<R>> findFirst(FluidStack stack, Predicate<R> matches) {
+        return this.findFirst(this.byFluid.getOrDefault(stack.getFluid(), List.of()), this.fluidFallback, matches);
+    }
+
+    private Optional<RecipeHolder<R>> findFirst(List<RecipeHolder<R>> candidates, List<RecipeHolder<R>> fallback, Predicate<R> matches) {
+        var candidate = this.firstMatch(candidates, matches);
+        var fallbackCandidate = this.firstMatch(fallback, matches);
+        if (candidate == null)
+            return Optional.ofNullable(fallbackCandidate);
+        if (fallbackCandidate == null)
+            return Optional.of(candidate);
+        return Optional.of(this.order.getInt(candidate) <= this.order.getInt(fallbackCandidate) ? candidate : fallbackCandidate);
+    }
+
+    @Nullable
+    private RecipeHolder<R> firstMatch(List<RecipeHolder<R>> recipes, Predicate<R> matches) {
+        for (var recipe : recipes) {
+            if (matches.test(recipe.value()))
+                return recipe;
+        }
+        return null;
+    }
+}
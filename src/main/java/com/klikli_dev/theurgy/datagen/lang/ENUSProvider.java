@@ -136,6 +136,12 @@ public class ENUSProvider extends AbstractModonomiconLanguageProvider implements
         this.add(TheurgyConstants.I18n.Behaviour.SELECTION_SUMMARY_SULFURIC_FLUX_EMITTER_NO_SOURCES, "Sulfuric Flux Emitter has no linked source pedestals.");
         this.add(TheurgyConstants.I18n.Behaviour.SELECTION_SUMMARY_SULFURIC_FLUX_EMITTER_NO_RESULT, "Sulfuric Flux Emitter has no linked result pedestal.");
 
+        this.add(TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_SINGLE_TARGET, "Single Target");
+        this.add(TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_ROUND_ROBIN, "Round Robin");
+        this.add(TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_EVEN_SPLIT, "Even Split");
+        this.add(TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_WEIGHTED, "Weighted");
+        this.add(TheurgyConstants.I18n.Behaviour.DISTRIBUTION_MODE_FILL_FIRST, "Fill First");
+
         this.add(TheurgyConstants.I18n.Behaviour.INTERACTION_FERMENTATION_VAT_NO_RECIPE, "Cannot close vat, the items in it do not form a valid fermentation recipe.");
         this.add(TheurgyConstants.I18n.Behaviour.INTERACTION_FERMENTATION_VAT_CLOSED, "Cannot add or remove items or fluids from the vat while it is closed. Shift+Click to open.");
 
@@ -234,6 +240,18 @@ public class ENUSProvider extends AbstractModonomiconLanguageProvider implements
         this.add(TheurgyConstants.I18n.Message.DIVINATION_ROD_ATTUNING_NOT_ALLOWED, this.f("{0}: This type of divination rod cannot be manually attuned.", this.darkRed("Warning")));
     }
 
+    private void addCommands() {
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_EMPTY, "No logistics networks are loaded.");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DIMENSION, "%s: %s networks, %s nodes, %s extractors");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_THROUGHPUT, "  Moved %s items and %s mB in %s extractions (%s idle, %s failed simulations), %s ms total");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_STRUCTURE, "  %s merges, %s splits, %s relinks");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_TOP_EXTRACTORS, "Most expensive extractors:");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_EXTRACTOR, "  %s %s: %s ms in %s extractions, %s items, %s mB");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DUMP, "Logistics stats written to %s");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_DUMP_FAILED, "Failed to write logistics stats: %s");
+        this.add(TheurgyConstants.I18n.Command.LOGISTICS_STATS_RESET, "Logistics stats reset.");
+    }
+
     private void addFluids() {
         this.add("fluid_type.theurgy.sal_ammoniac", "Sal Ammoniac");
     }
@@ -992,6 +1010,9 @@ public class ENUSProvider extends AbstractModonomiconLanguageProvider implements
         this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_SET_SELECTED_FREQUENCY, "Set frequency to %s");
         this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_SET_SELECTED_FREQUENCY_WITH_TARGET, "Set frequency from %s to %s");
         this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_SET_SELECTED_FREQUENCY_SUCCESS, "Set frequency to %s");
+        this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE, "Cycle distribution mode");
+        this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE_WITH_TARGET, "Set distribution mode from %s to %s");
+        this.add(TheurgyConstants.I18n.Item.Mode.MERCURIAL_WAND_CYCLE_DISTRIBUTION_MODE_SUCCESS, "Distribution mode is now %s");
 
         this.addItem(ItemRegistry.LIST_FILTER, "Mercurial List Filter");
         this.addUsageTooltip(ItemRegistry.LIST_FILTER,
@@ -1113,6 +1134,7 @@ public class ENUSProvider extends AbstractModonomiconLanguageProvider implements
         this.addKeys();
         this.addSubtitles();
         this.addMessages();
+        this.addCommands();
         this.addItems();
         this.addBlocks();
         this.addFluids();
@@ -6,53 +6,67 @@ package com.klikli_dev.theurgy.logistics;
 
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
-import com.google.common.graph.Traverser;
 import com.klikli_dev.theurgy.Theurgy;
 import com.klikli_dev.theurgy.content.behaviour.logistics.*;
 import com.klikli_dev.theurgy.util.TheurgyExtraCodecs;
 import com.mojang.serialization.Codec;
-import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.core.GlobalPos;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.saveddata.SavedData;
 import net.neoforged.neoforge.capabilities.BlockCapability;
 import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 import net.neoforged.neoforge.server.ServerLifecycleHooks;
 
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 @SuppressWarnings("UnstableApiUsage")
 public class Logistics extends SavedData {
     public static final Supplier<MutableGraph<GlobalPos>> GRAPH_SUPPLIER = () -> GraphBuilder.undirected().allowsSelfLoops(false).build();
     public static final String ID = "theurgy.logistics";
-    public static final Codec<Logistics> CODEC = RecordCodecBuilder.create(instance -> instance.group(
-            TheurgyExtraCodecs.graph(GlobalPos.CODEC, GRAPH_SUPPLIER).fieldOf("graph").forGetter(Logistics::graph)
-    ).apply(instance, Logistics::new));
+    /**
+     * The version of the save format.
+     * Version 1 is the original codec based format that stored every node as a GlobalPos, it did not contain a version field.
+     * Version 2 stores a dimension table and per dimension the nodes as packed longs and the edges as node index pairs.
+     * Version 3 additionally stores the network id of each node, so networks no longer have to be rebuilt from the full graph on load.
+     */
+    public static final int FORMAT_VERSION = 3;
+    /**
+     * Only used to read saves in the format version 1, they are migrated to the current format on the next save.
+     */
+    private static final Codec<MutableGraph<GlobalPos>> LEGACY_GRAPH_CODEC = TheurgyExtraCodecs.graph(GlobalPos.CODEC, GRAPH_SUPPLIER).fieldOf("graph").codec();
     private static final String NBT_TAG = "theurgy:logistics";
     private static Logistics cachedLogistics;
 
-    private final MutableGraph<GlobalPos> graph;
-    private final Set<GlobalPos> graphNodes = new ObjectOpenHashSet<>();
-    private final Map<GlobalPos, LogisticsNetwork> blockPosToNetwork = new Object2ObjectOpenHashMap<>();
-    private final Map<GlobalPos, WeakReference<LeafNodeBehaviour<?, ?>>> cachedLeafNodes = new Object2ObjectOpenHashMap<>();
     /**
-     * If true, leaf node lookups will be cached. This is useful if you access a lot of nodes in a short period of time.
+     * The graph of each dimension. Connections across dimensions are not possible, so each dimension can be handled separately.
      */
-    private boolean useLeafNodeCache = false;
-
+    private final Map<ResourceKey<Level>, LogisticsGraph> graphs = new Object2ObjectOpenHashMap<>();
+    /**
+     * The networks by id. The graphs only store the network id of each node.
+     */
+    private final Int2ObjectOpenHashMap<LogisticsNetwork> networks = new Int2ObjectOpenHashMap<>();
+    private int nextNetworkId = 0;
+    private final Map<ResourceKey<Level>, LogisticsScheduler> schedulers = new Object2ObjectOpenHashMap<>();
     /**
      * If true, the network's leaf node caches will be rebuilt automatically after a network change.
      * This should be true in most cases, but can be disabled if you want to handle it manually, e.g. for bulk operations.
@@ -66,16 +80,43 @@ public class Logistics extends SavedData {
     //      the kicking of non-nodes might make sense though
 
     public Logistics() {
-        this(GRAPH_SUPPLIER.get());
     }
 
     public Logistics(MutableGraph<GlobalPos> graph) {
-        this.graph = graph;
+        for (var node : graph.nodes()) {
+            this.graph(node.dimension()).addNode(node.pos().asLong());
+        }
+        for (var edge : graph.edges()) {
+            this.graph(edge.nodeU().dimension()).putEdge(edge.nodeU().pos().asLong(), edge.nodeV().pos().asLong());
+        }
         this.rebuildGraph();
     }
 
     public static Logistics load(CompoundTag pCompoundTag, HolderLookup.Provider pRegistries) {
-        return CODEC.parse(pRegistries.createSerializationContext(NbtOps.INSTANCE), pCompoundTag.get(NBT_TAG)).result().orElseThrow();
+        var tag = pCompoundTag.getCompound(NBT_TAG);
+        if (!tag.contains("version")) {
+            var logistics = new Logistics(LEGACY_GRAPH_CODEC.parse(pRegistries.createSerializationContext(NbtOps.INSTANCE), tag).result().orElseThrow());
+            logistics.setDirty(); //ensures the migrated data is written in the current format
+            return logistics;
+        }
+
+        var logistics = new Logistics();
+        var dimensions = tag.getList("dimensions", Tag.TAG_STRING);
+        var graphs = tag.getList("graphs", Tag.TAG_COMPOUND);
+        for (int i = 0; i < dimensions.size() && i < graphs.size(); i++) {
+            var dimension = ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(dimensions.getString(i)));
+            var graph = LogisticsGraph.load(graphs.getCompound(i));
+            logistics.graphs.put(dimension, graph);
+            logistics.nextNetworkId = Math.max(logistics.nextNetworkId, graph.maxNetworkId() + 1);
+        }
+
+        if (tag.getInt("version") < 3) {
+            //no network ids were saved, so we have to build them from the graph
+            logistics.rebuildGraph();
+            logistics.setDirty();
+        }
+        //otherwise the networks are materialized lazily once their nodes are accessed, see network()
+        return logistics;
     }
 
     private static MinecraftServer server() {
@@ -105,21 +146,38 @@ public class Logistics extends SavedData {
     /**
      * If the overworld is unloaded we are leaving the world, so we have to reset the cached data.
      * It will be reloaded at the first access after a new world is loaded.
+     * <p>
+     * Only server levels are handled: in single player the cached data is the server's, and client levels unload e.g. on dimension change.
      */
     public static void onLevelUnload(LevelEvent.Unload event) {
-        if (event.getLevel() instanceof Level level && level.dimension() == Level.OVERWORLD) {
+        if (!(event.getLevel() instanceof ServerLevel level))
+            return;
+
+        if (level.dimension() == Level.OVERWORLD) {
             cachedLogistics = null;
+        } else if (cachedLogistics != null) {
+            cachedLogistics.schedulers.remove(level.dimension());
         }
     }
 
+    /**
+     * Runs the extractor scheduler of the ticking level.
+     */
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel().isClientSide())
+            return;
 
-    public void enableLeafNodeCache() {
-        this.useLeafNodeCache = true;
+        var scheduler = get().schedulers.get(event.getLevel().dimension());
+        if (scheduler != null) {
+            scheduler.tick();
+        }
     }
 
-    public void disableLeafNodeCache() {
-        this.useLeafNodeCache = false;
-        this.cachedLeafNodes.clear();
+    /**
+     * Gets the scheduler that runs the extraction ticks of extractor nodes in the given level.
+     */
+    public LogisticsScheduler scheduler(ResourceKey<Level> dimension) {
+        return this.schedulers.computeIfAbsent(dimension, k -> new LogisticsScheduler());
     }
 
     public void disableAutomaticNetworkCacheRebuild() {
@@ -130,13 +188,35 @@ public class Logistics extends SavedData {
         this.useAutomaticNetworkCacheRebuild = true;
     }
 
+    /**
+     * The networks that are currently materialized, see network().
+     */
+    public Collection<LogisticsNetwork> networks() {
+        return this.networks.values();
+    }
+
+    /**
+     * Resets the counters of all materialized networks and their loaded extractors.
+     */
+    public void resetStats() {
+        for (var network : this.networks.values()) {
+            network.stats().reset();
+            for (var leafNode : network.leafNodes()) {
+                if (leafNode.mode() == LeafNodeMode.EXTRACT) {
+                    leafNode.asExtractor().stats().reset();
+                }
+            }
+        }
+    }
+
     public LogisticsNetwork getNetwork(GlobalPos pos) {
-        return this.blockPosToNetwork.get(pos);
+        var graph = this.graphs.get(pos.dimension());
+        return graph != null ? this.network(pos.dimension(), graph, pos.pos().asLong()) : null;
     }
 
     /**
      * Gets the leaf node at the given position if it is in the desired mode ( or null ).
-     * Call enableLeafNodeCache() before calling this to enable caching if you plan to access a lot of nodes in short periods of time.
+     * Loaded leaf nodes are found in their network without accessing the level.
      */
     public LeafNodeBehaviour<?, ?> getLeafNode(GlobalPos pos, LeafNodeMode mode) {
         return this.getLeafNode(pos, mode, (BlockCapability<?, ?>) null);
@@ -145,7 +225,7 @@ public class Logistics extends SavedData {
 
     /**
      * Gets the leaf node at the given position ( or null ).
-     * Call enableLeafNodeCache() before calling this to enable caching if you plan to access a lot of nodes in short periods of time.
+     * Loaded leaf nodes are found in their network without accessing the level.
      */
     public LeafNodeBehaviour<?, ?> getLeafNode(GlobalPos pos) {
         return this.getLeafNode(pos, (BlockCapability<?, ?>) null);
@@ -153,7 +233,7 @@ public class Logistics extends SavedData {
 
     /**
      * Gets the leaf node at the given position if it is in the desired mode ( or null ).
-     * Call enableLeafNodeCache() before calling this to enable caching if you plan to access a lot of nodes in short periods of time.
+     * Loaded leaf nodes are found in their network without accessing the level.
      */
     public <T, C> LeafNodeBehaviour<T, C> getLeafNode(GlobalPos pos, LeafNodeMode mode, BlockCapability<T, C> capability) {
         var node = this.getLeafNode(pos, capability);
@@ -165,41 +245,29 @@ public class Logistics extends SavedData {
 
 
     public <T, C> LeafNodeBehaviour<T, C> getLeafNode(GlobalPos pos, BlockCapability<T, C> capability) {
-        //first check leaf node cache
-        LeafNodeBehaviour<T, C> result = null;
-        if (this.useLeafNodeCache) {
-            var weakRef = this.cachedLeafNodes.get(pos);
-            if (weakRef != null) {
-                var temp = weakRef.get();
-                if (temp != null && (capability == null || temp.capabilityType().equals(capability))) {
-                    //noinspection unchecked -> we know it is the right type because we check!
-                    result = (LeafNodeBehaviour<T, C>) temp;
-                }
-                if (result == null) { //clean up cache if needed.
-                    this.cachedLeafNodes.remove(pos);
-                }
+        //first check the leaf nodes registered in the network, they are only registered while loaded
+        var network = this.getNetwork(pos);
+        if (network != null) {
+            var leafNode = network.getLeafNode(pos.pos().asLong());
+            if (leafNode != null) {
+                //noinspection unchecked -> we know it is the right type because we check!
+                return capability == null || leafNode.capabilityType().equals(capability) ? (LeafNodeBehaviour<T, C>) leafNode : null;
             }
         }
 
-        //if not in cache, query world and store.
-        if (result == null) {
-            var level = server().getLevel(pos.dimension());
-            if (level == null) {
-                return null;
-            }
-
-            var blockEntity = level.getBlockEntity(pos.pos());
-            if (blockEntity instanceof HasLeafNodeBehaviour<?, ?> hasLeafNode && (capability == null || hasLeafNode.leafNode().capabilityType().equals(capability))) {
-                //noinspection unchecked -> we know it is the right type because we check!
-                result = (LeafNodeBehaviour<T, C>) hasLeafNode.leafNode();
-            }
+        //if not registered (e.g. not connected to any network), query world.
+        var level = server().getLevel(pos.dimension());
+        if (level == null) {
+            return null;
+        }
 
-            if (result != null && this.useLeafNodeCache) {
-                this.cachedLeafNodes.put(pos, new WeakReference<>(result));
-            }
+        var blockEntity = level.getBlockEntity(pos.pos());
+        if (blockEntity instanceof HasLeafNodeBehaviour<?, ?> hasLeafNode && (capability == null || hasLeafNode.leafNode().capabilityType().equals(capability))) {
+            //noinspection unchecked -> we know it is the right type because we check!
+            return (LeafNodeBehaviour<T, C>) hasLeafNode.leafNode();
         }
 
-        return result;
+        return null;
     }
 
     /**
@@ -225,7 +293,7 @@ public class Logistics extends SavedData {
     public LogisticsNetwork add(LeafNodeBehaviour<?, ?> leafNode) {
         var pos = leafNode.globalPos();
         this.add(pos);
-        var network = this.blockPosToNetwork.get(pos);
+        var network = this.getNetwork(pos);
         if (network != null) {
             network.addLeafNode(leafNode);
         }
@@ -246,7 +314,7 @@ public class Logistics extends SavedData {
         //further, a leaf node can theoretically also connect other nodes, so unload should not destroy the network!
         //only if it was destroyed = permanently removed we remove the normal node too
 
-        var network = this.blockPosToNetwork.get(leafNode.globalPos());
+        var network = this.getNetwork(leafNode.globalPos());
         if (network != null) {
             network.removeLeafNode(leafNode);
         }
@@ -263,21 +331,22 @@ public class Logistics extends SavedData {
      * Will re-create existing networks if the node was already present on a previous load.
      */
     public LogisticsNetwork add(GlobalPos node) {
-        var isNew = this.graphNodes().add(node);
+        var graph = this.graph(node.dimension());
+        var pos = node.pos().asLong();
+        var isNew = graph.addNode(pos);
         if (isNew) {
             //if new we just add it, there will be no network
-            this.graph().addNode(node);
             this.setDirty();
             return null;
         } else {
             //if not new it was previously added and may have been connected before, so we query the graph.
             //this causes network re-creation after a world load.
-            var neighbors = this.graph().adjacentNodes(node);
-            for (GlobalPos neighbor : neighbors) {
-                this.add(node, neighbor);
+            //Note: re-adding existing edges does not modify the adjacency, so we can iterate it directly.
+            for (var iterator = graph.adjacentNodes(pos).iterator(); iterator.hasNext(); ) {
+                this.add(node.dimension(), graph, pos, iterator.nextLong());
             }
         }
-        return this.blockPosToNetwork.get(node);
+        return this.network(node.dimension(), graph, pos);
     }
 
     /**
@@ -286,42 +355,25 @@ public class Logistics extends SavedData {
      */
     public void remove(GlobalPos destroyedBlock) {
         //This is a bit trickier than just removing an edge, because it can theoretically create multiple networks.
-        if(!this.graphNodes().contains(destroyedBlock)){
+        var graph = this.graphs.get(destroyedBlock.dimension());
+        var pos = destroyedBlock.pos().asLong();
+        if (graph == null || !graph.contains(pos)) {
             return;
         }
 
-        //first query the neighbors, because after removal we can't
-        var neighbors = this.graph().adjacentNodes(destroyedBlock);
-        this.graph().removeNode(destroyedBlock);
-        this.graphNodes().remove(destroyedBlock);
+        //query the network first, because removing the node also removes its network mapping
+        var oldNetwork = this.network(destroyedBlock.dimension(), graph, pos);
+        var neighbors = graph.removeNode(pos);
         this.setDirty();
 
-        var oldNetwork = this.blockPosToNetwork.get(destroyedBlock);
         if (oldNetwork != null) {
-            oldNetwork.removeNode(destroyedBlock);
-            this.blockPosToNetwork.remove(destroyedBlock);
-        }
-
-        //now we need to detect the splits, and avoid unecessary iterations.
-        List<LogisticsNetwork> splitNetworks = new ArrayList<>();
-
-        for (GlobalPos neighbor : neighbors) {
-            boolean isNeighborInSplitNetwork = splitNetworks.stream()
-                    .anyMatch(network -> network.nodes().contains(neighbor));
-
-            if (!isNeighborInSplitNetwork) {
-                var newNetwork = this.buildNetwork(neighbor, this.getConnected(neighbor), (node) -> {
-                });
-                splitNetworks.add(newNetwork);
+            oldNetwork.removeNode(pos);
+            if (oldNetwork.nodes().isEmpty()) {
+                this.networks.remove(oldNetwork.id());
+            } else {
+                this.split(graph, oldNetwork, neighbors);
             }
         }
-
-        // Logistics networks also need to re-notify all their nodes to update the cache.
-        // As long as all new networks reset and rebuild fully that is probably pretty easy.
-        // Rebuild caches on all!
-        if (this.useAutomaticNetworkCacheRebuild) {
-            splitNetworks.forEach(LogisticsNetwork::rebuildCaches);
-        }
     }
 
     /**
@@ -330,17 +382,22 @@ public class Logistics extends SavedData {
      * Will create a network if none exists yet and handles merging.
      */
     public LogisticsNetwork add(GlobalPos a, GlobalPos b) {
-        this.graph().putEdge(a, b);
-        this.graphNodes().add(a);
-        this.graphNodes().add(b);
+        if (!a.dimension().equals(b.dimension()))
+            throw new IllegalArgumentException("Logistics nodes can only be connected within the same dimension: " + a + ", " + b);
+
+        return this.add(a.dimension(), this.graph(a.dimension()), a.pos().asLong(), b.pos().asLong());
+    }
+
+    private LogisticsNetwork add(ResourceKey<Level> dimension, LogisticsGraph graph, long a, long b) {
+        graph.putEdge(a, b);
         this.setDirty();
 
         LogisticsNetwork network;
-        var netA = this.blockPosToNetwork.get(a);
-        var netB = this.blockPosToNetwork.get(b);
+        var netA = this.network(dimension, graph, a);
+        var netB = this.network(dimension, graph, b);
         if (netA == null && netB == null) {
             //create network
-            network = new LogisticsNetwork();
+            network = this.createNetwork(dimension);
         } else if (netA == null) {
             //add to network B
             //this one and the next if elegantly avoid a merge if a single node is connected to a network
@@ -350,13 +407,8 @@ public class Logistics extends SavedData {
             //add to network A
             network = netA;
         } else if (netA != netB) {
-            //merge networks
-            if (netA.nodes().size() == 1) //in case netB is also 1 that is fine.
-                network = this.mergeSingle(netB, netA);
-            else if (netB.nodes().size() == 1)
-                network = this.mergeSingle(netA, netB);
-            else
-                network = this.merge(netA, netB);
+            //merge networks, the larger one absorbs the smaller one
+            network = this.merge(graph, netA, netB);
         } else {
             //already in the same network .. so we just choose A
             network = netA;
@@ -365,8 +417,8 @@ public class Logistics extends SavedData {
         network.addNode(a);
         network.addNode(b);
 
-        this.blockPosToNetwork.put(a, network);
-        this.blockPosToNetwork.put(b, network);
+        graph.network(a, network.id());
+        graph.network(b, network.id());
 
         return network;
     }
@@ -377,50 +429,76 @@ public class Logistics extends SavedData {
      * This does NOT remove the nodes.
      */
     public void remove(GlobalPos a, GlobalPos b) {
-        this.graph().removeEdge(a, b);
-        this.setDirty();
-
-        var connectedA = new ObjectOpenHashSet<GlobalPos>();
-        this.getConnected(a).forEach(connectedA::add);
-        if (connectedA.contains(b)) {
-            //no split
+        var graph = this.graphs.get(a.dimension());
+        if (graph == null || !a.dimension().equals(b.dimension()))
             return;
-        }
 
-        //split detected
+        var posA = a.pos().asLong();
+        var posB = b.pos().asLong();
+        if (!graph.removeEdge(posA, posB))
+            return;
 
-        var networkA = this.buildNetwork(a, connectedA, (node) -> {
-        });
-        var networkB = this.buildNetwork(b, this.getConnected(b), (node) -> {
-        }); //no need to build a set as we only iterate once
+        this.setDirty();
 
-        //now rebuild the leaf node caches
-        if (this.useAutomaticNetworkCacheRebuild) {
-            networkA.rebuildCaches();
-            networkB.rebuildCaches();
+        var network = this.network(a.dimension(), graph, posA);
+        if (network != null) {
+            this.split(graph, network, LongList.of(posA, posB));
         }
     }
 
     @Override
     public CompoundTag save(CompoundTag pCompoundTag, HolderLookup.Provider pRegistries) {
-        pCompoundTag.put(NBT_TAG, CODEC.encodeStart(pRegistries.createSerializationContext(NbtOps.INSTANCE), this).result().orElseThrow());
+        //the dimension table and the graph list are parallel: the graph at index i belongs to the dimension at index i
+        var dimensions = new ListTag();
+        var graphs = new ListTag();
+        this.graphs.forEach((dimension, graph) -> {
+            if (graph.isEmpty())
+                return;
+
+            dimensions.add(StringTag.valueOf(dimension.location().toString()));
+            graphs.add(graph.save());
+        });
+
+        var tag = new CompoundTag();
+        tag.putInt("version", FORMAT_VERSION);
+        tag.put("dimensions", dimensions);
+        tag.put("graphs", graphs);
+        pCompoundTag.put(NBT_TAG, tag);
         return pCompoundTag;
     }
 
-    private MutableGraph<GlobalPos> graph() {
-        return this.graph;
+    private LogisticsGraph graph(ResourceKey<Level> dimension) {
+        return this.graphs.computeIfAbsent(dimension, k -> new LogisticsGraph());
     }
 
-    private Set<GlobalPos> graphNodes() {
-        return this.graphNodes;
-    }
+    /**
+     * Gets the network of the given node.
+     * If the network was loaded from disk and not accessed since, the LogisticsNetwork is created now from the saved node list.
+     * The leaf nodes register themselves once they are loaded, just like after a full rebuild.
+     */
+    private LogisticsNetwork network(ResourceKey<Level> dimension, LogisticsGraph graph, long node) {
+        var networkId = graph.network(node);
+        if (networkId == LogisticsGraph.NO_NETWORK)
+            return null;
 
-    private Iterable<GlobalPos> getConnected(GlobalPos start) {
-        var traverser = Traverser.forGraph(this.graph());
-        if (this.graphNodes().contains(start))
-            return traverser.breadthFirst(start);
+        var network = this.networks.get(networkId);
+        if (network == null) {
+            var nodes = graph.takeUnmaterializedNetwork(networkId);
+            if (nodes != null) {
+                network = new LogisticsNetwork(networkId, dimension);
+                for (var member : nodes) {
+                    network.addNode(member);
+                }
+                this.networks.put(networkId, network);
+            }
+        }
+        return network;
+    }
 
-        return List.of();
+    private LogisticsNetwork createNetwork(ResourceKey<Level> dimension) {
+        var network = new LogisticsNetwork(this.nextNetworkId++, dimension);
+        this.networks.put(network.id(), network);
+        return network;
     }
 
     /**
@@ -428,71 +506,94 @@ public class Logistics extends SavedData {
      * It does not rebuild the leaf node caches.
      */
     private void rebuildGraph() {
-        this.graphNodes.clear();
-        this.blockPosToNetwork.clear();
-        for (var node : this.graph().nodes()) {
-            //skip nodes we already handled
-            if (this.graphNodes.contains(node)) {
-                continue;
+        this.networks.clear();
+        this.graphs.forEach((dimension, graph) -> {
+            graph.clearNetworks();
+            for (var iterator = graph.nodes().iterator(); iterator.hasNext(); ) {
+                var node = iterator.nextLong();
+                //skip nodes we already handled
+                if (graph.network(node) != LogisticsGraph.NO_NETWORK) {
+                    continue;
+                }
+
+                //now create a network for this node and all nodes connected to it
+                this.buildNetwork(dimension, graph, node);
             }
+        });
+    }
 
-            //now get all nodes connected to this one and create a network for them
-            var connected = this.getConnected(node);
+    /**
+     * Checks if the network was split after a removal, and moves the parts that were split off into new networks.
+     * The largest part stays in the old network, so only the smaller parts need to be relabeled and relinked.
+     *
+     * @param oldNetwork the network the removed node or edge belonged to.
+     * @param roots      the nodes that were connected through the removed node or edge.
+     */
+    private void split(LogisticsGraph graph, LogisticsNetwork oldNetwork, LongCollection roots) {
+        var splitParts = SplitDetector.detect(roots, graph::adjacentNodes);
+
+        for (var part : splitParts) {
+            var network = this.createNetwork(oldNetwork.dimension());
+            oldNetwork.transferNodes(part, network);
+            oldNetwork.stats().recordSplit();
+            for (var iterator = part.iterator(); iterator.hasNext(); ) {
+                graph.network(iterator.nextLong(), network.id());
+            }
 
-            this.buildNetwork(node, connected, this.graphNodes::add);
-            //last param: we add both the root node and the connected nodes to graphNodes to ensure we don't do unnecessary double-checks
+            if (this.useAutomaticNetworkCacheRebuild) {
+                network.onSplitFrom(oldNetwork);
+            }
         }
     }
 
-    private LogisticsNetwork merge(LogisticsNetwork a, LogisticsNetwork b) {
-        //create new network that combines the old two
-        var result = new LogisticsNetwork();
-        result.merge(a);
-        result.merge(b);
-
-        //add new network to mapping
-        //this also replaces the old network as each node is overwritten
-        result.nodes().forEach(pos -> this.blockPosToNetwork.put(pos, result));
+    /**
+     * Merges two networks by size: the larger network stays in place and absorbs the smaller one.
+     * Only the node mappings of the smaller network are updated,
+     * and only the links between the leaf nodes of the two networks are created - links within each network already exist.
+     */
+    private LogisticsNetwork merge(LogisticsGraph graph, LogisticsNetwork a, LogisticsNetwork b) {
+        var larger = a.nodes().size() >= b.nodes().size() ? a : b;
+        var smaller = larger == a ? b : a;
 
         if (this.useAutomaticNetworkCacheRebuild) {
-            result.rebuildCaches(); //just rebuild cache on the new network as that will reset all nodes anyway
+            larger.linkWith(smaller); //needs to happen before the merge, otherwise we can't tell the leaf nodes apart
         }
 
-        return result;
-    }
+        larger.merge(smaller);
+        for (var iterator = smaller.nodes().iterator(); iterator.hasNext(); ) {
+            graph.network(iterator.nextLong(), larger.id());
+        }
+        this.networks.remove(smaller.id());
 
-    /**
-     * Merges a network with only one node into a larger network.
-     * This means it will never perform a cache rebuild.
-     * Instead, in the case of a leaf being the added one it being added to the network will fire the necessary event.
-     */
-    private LogisticsNetwork mergeSingle(LogisticsNetwork network, LogisticsNetwork singleNodeNetwork) {
-        network.merge(singleNodeNetwork);
-        return network;
+        return larger;
     }
 
     /**
-     * Builds a logistics network from a root node and it's connected nodes.
+     * Builds a logistics network from a root node and all nodes connected to it, using a breadth-first search.
+     * Nodes that already have a network id are treated as visited, so the network ids need to be cleared beforehand.
      *
-     * @param rootNode    the root node. This has no special meaning, it is just the first one we query.
-     * @param connected   the connected nodes,
-     * @param onNodeAdded a callback that is called for each node that is added to the network.
-     *                    This can be used to ensure nodes are not handled twice, e.g. in a full graph rebuild.
+     * @param rootNode the root node. This has no special meaning, it is just the first one we query.
      */
-    private LogisticsNetwork buildNetwork(GlobalPos rootNode, Iterable<GlobalPos> connected, Consumer<GlobalPos> onNodeAdded) {
-        var network = new LogisticsNetwork();
+    private LogisticsNetwork buildNetwork(ResourceKey<Level> dimension, LogisticsGraph graph, long rootNode) {
+        var network = this.createNetwork(dimension);
+        var queue = new LongArrayFIFOQueue();
 
         //add the root node
         network.addNode(rootNode);
-        this.blockPosToNetwork.put(rootNode, network);
-        onNodeAdded.accept(rootNode);
+        graph.network(rootNode, network.id());
+        queue.enqueue(rootNode);
 
         //now add all other nodes
-        connected.forEach(c -> {
-            network.addNode(c);
-            this.blockPosToNetwork.put(c, network);
-            onNodeAdded.accept(c);
-        });
+        while (!queue.isEmpty()) {
+            for (var iterator = graph.adjacentNodes(queue.dequeueLong()).iterator(); iterator.hasNext(); ) {
+                var neighbor = iterator.nextLong();
+                if (graph.network(neighbor) == LogisticsGraph.NO_NETWORK) {
+                    network.addNode(neighbor);
+                    graph.network(neighbor, network.id());
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
 
         return network;
     }
@@ -0,0 +1,252 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.LongArrayTag;
+
+import java.util.Arrays;
+
+/**
+ * The logistics graph of a single dimension.
+ * <p>
+ * Nodes are stored as BlockPos.asLong() and the undirected edges as adjacency sets, so no GlobalPos objects are kept around.
+ * Additionally, the graph knows the id of the network each node belongs to.
+ * <p>
+ * Network ids are saved with the graph. On load only the ids are restored, the LogisticsNetwork objects are created lazily
+ * (see takeUnmaterializedNetwork()) once a node of the network is accessed, e.g. because its chunk was loaded.
+ */
+public class LogisticsGraph {
+    /**
+     * The network id of nodes that are not part of any network.
+     */
+    public static final int NO_NETWORK = -1;
+
+    /**
+     * Every node of the graph is a key here, nodes without connections map to an empty set.
+     */
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> adjacency = new Long2ObjectOpenHashMap<>();
+    private final Long2IntOpenHashMap nodeToNetwork = new Long2IntOpenHashMap();
+    /**
+     * The nodes of networks that were loaded from disk but have no LogisticsNetwork yet, by network id.
+     */
+    private final Int2ObjectOpenHashMap<long[]> unmaterializedNetworks = new Int2ObjectOpenHashMap<>();
+
+    public LogisticsGraph() {
+        this.nodeToNetwork.defaultReturnValue(NO_NETWORK);
+    }
+
+    /**
+     * Reads a graph written by save().
+     * Edges that reference nodes outside the node array are skipped.
+     * If the tag contains no network ids (older formats) all nodes are left without a network, and the networks need to be rebuilt.
+     */
+    public static LogisticsGraph load(CompoundTag tag) {
+        var graph = new LogisticsGraph();
+
+        var nodes = tag.getLongArray("nodes");
+        for (var node : nodes) {
+            graph.addNode(node);
+        }
+
+        var edges = tag.getIntArray("edges");
+        for (int i = 0; i + 1 < edges.length; i += 2) {
+            int a = edges[i];
+            int b = edges[i + 1];
+            if (a >= 0 && a < nodes.length && b >= 0 && b < nodes.length) {
+                graph.putEdge(nodes[a], nodes[b]);
+            }
+        }
+
+        //network ids are stored as (id, count) pairs, each covering the next count nodes in the node array
+        var networks = tag.getIntArray("networks");
+        int offset = 0;
+        for (int i = 0; i + 1 < networks.length; i += 2) {
+            int id = networks[i];
+            int count = networks[i + 1];
+            if (count < 0 || offset + count > nodes.length)
+                break;
+
+            if (id != NO_NETWORK) {
+                var members = Arrays.copyOfRange(nodes, offset, offset + count);
+                for (var node : members) {
+                    graph.nodeToNetwork.put(node, id);
+                }
+                graph.unmaterializedNetworks.put(id, members);
+            }
+            offset += count;
+        }
+
+        return graph;
+    }
+
+    /**
+     * Writes the graph in a compact form: all nodes as one array of packed positions,
+     * and all edges as one array of index pairs into the node array.
+     * The nodes are grouped by network, so the network ids can be stored as one (id, count) pair per network.
+     */
+    public CompoundTag save() {
+        var nodesByNetwork = new Int2ObjectOpenHashMap<LongArrayList>();
+        for (var iterator = this.adjacency.keySet().iterator(); iterator.hasNext(); ) {
+            var node = iterator.nextLong();
+            nodesByNetwork.computeIfAbsent(this.nodeToNetwork.get(node), k -> new LongArrayList()).add(node);
+        }
+
+        var nodes = new long[this.adjacency.size()];
+        var networks = new IntArrayList(nodesByNetwork.size() * 2);
+        int offset = 0;
+        for (var entry : nodesByNetwork.int2ObjectEntrySet()) {
+            var members = entry.getValue();
+            members.getElements(0, nodes, offset, members.size());
+            offset += members.size();
+            networks.add(entry.getIntKey());
+            networks.add(members.size());
+        }
+
+        var nodeToIndex = new Long2IntOpenHashMap(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            nodeToIndex.put(nodes[i], i);
+        }
+
+        var edges = new IntArrayList();
+        for (int i = 0; i < nodes.length; i++) {
+            var node = nodes[i];
+            for (var iterator = this.adjacency.get(node).iterator(); iterator.hasNext(); ) {
+                var neighbor = iterator.nextLong();
+                if (node < neighbor) { //each edge is stored on both ends, but we only need it once
+                    edges.add(i);
+                    edges.add(nodeToIndex.get(neighbor));
+                }
+            }
+        }
+
+        var tag = new CompoundTag();
+        tag.put("nodes", new LongArrayTag(nodes));
+        tag.put("edges", new IntArrayTag(edges.toIntArray()));
+        tag.put("networks", new IntArrayTag(networks.toIntArray()));
+        return tag;
+    }
+
+    public LongSet nodes() {
+        return this.adjacency.keySet();
+    }
+
+    public boolean contains(long node) {
+        return this.adjacency.containsKey(node);
+    }
+
+    public boolean isEmpty() {
+        return this.adjacency.isEmpty();
+    }
+
+    /**
+     * @return true if the node was not present before.
+     */
+    public boolean addNode(long node) {
+        if (this.adjacency.containsKey(node))
+            return false;
+
+        this.adjacency.put(node, new LongOpenHashSet(2)); //most nodes only have one or two connections
+        return true;
+    }
+
+    /**
+     * Adds the edge and both nodes if they are not present yet.
+     *
+     * @return true if the edge was not present before.
+     */
+    public boolean putEdge(long a, long b) {
+        if (a == b)
+            return false; //no self loops
+
+        this.addNode(a);
+        this.addNode(b);
+        this.adjacency.get(b).add(a);
+        return this.adjacency.get(a).add(b);
+    }
+
+    /**
+     * Removes the edge, but not the nodes.
+     *
+     * @return true if the edge was present.
+     */
+    public boolean removeEdge(long a, long b) {
+        var adjacentA = this.adjacency.get(a);
+        var adjacentB = this.adjacency.get(b);
+        if (adjacentA == null || adjacentB == null)
+            return false;
+
+        adjacentB.remove(a);
+        return adjacentA.remove(b);
+    }
+
+    /**
+     * Removes the node, its edges and its network mapping.
+     *
+     * @return the former neighbors of the node, or null if it was not present.
+     */
+    public LongSet removeNode(long node) {
+        var neighbors = this.adjacency.remove(node);
+        if (neighbors == null)
+            return null;
+
+        var iterator = neighbors.iterator();
+        while (iterator.hasNext()) {
+            this.adjacency.get(iterator.nextLong()).remove(node);
+        }
+        this.nodeToNetwork.remove(node);
+        return neighbors;
+    }
+
+    public LongSet adjacentNodes(long node) {
+        var neighbors = this.adjacency.get(node);
+        return neighbors != null ? neighbors : LongSets.EMPTY_SET;
+    }
+
+    /**
+     * @return the id of the network the node belongs to, or NO_NETWORK.
+     */
+    public int network(long node) {
+        return this.nodeToNetwork.get(node);
+    }
+
+    public void network(long node, int networkId) {
+        this.nodeToNetwork.put(node, networkId);
+    }
+
+    public void clearNetworks() {
+        this.nodeToNetwork.clear();
+        this.unmaterializedNetworks.clear();
+    }
+
+    /**
+     * Removes and returns the nodes of a network that was loaded from disk but not yet materialized.
+     *
+     * @return the nodes, or null if the network was already materialized or does not exist.
+     */
+    public long[] takeUnmaterializedNetwork(int networkId) {
+        return this.unmaterializedNetworks.remove(networkId);
+    }
+
+    /**
+     * @return the highest network id referenced by this graph, or NO_NETWORK if there is none.
+     */
+    public int maxNetworkId() {
+        int max = NO_NETWORK;
+        for (var iterator = this.nodeToNetwork.values().iterator(); iterator.hasNext(); ) {
+            max = Math.max(max, iterator.nextInt());
+        }
+        return max;
+    }
+}
@@ -5,17 +5,25 @@
 package com.klikli_dev.theurgy.logistics;
 
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
 import com.klikli_dev.theurgy.content.behaviour.logistics.ExtractorNodeBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.logistics.InserterNodeBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeBehaviour;
 import com.klikli_dev.theurgy.content.behaviour.logistics.LeafNodeMode;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterable;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.capabilities.BlockCapability;
 import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -24,36 +32,112 @@ import java.util.Set;
  * A network is simply a collection of nodes that are connected directly or indirectly.
  * The interesting feature of the network is the leaf nodes - only those are interacted with by the outside.
  * The leaf nodes form sub-networks that are defined by the capability type they support, and by a frequency.
+ * <p>
+ * A network never spans multiple dimensions, so nodes are stored as BlockPos.asLong() within the network's dimension.
+ * <p>
+ * The network only knows the leaf nodes that are currently loaded: they register themselves in onLoad() and unregister in onChunkUnload()/onDestroyed().
+ * It keeps the leaf node behaviours themselves, so linking nodes does not need to look up block entities in the level.
  */
 public class LogisticsNetwork {
-    private final Set<GlobalPos> nodes = new ObjectOpenHashSet<>();
-    private final Set<GlobalPos> leafNodes = new ObjectOpenHashSet<>();
-    private final SetMultimap<Key, GlobalPos> keyToLeafNodes = HashMultimap.create();
+    private final int id;
+    private final ResourceKey<Level> dimension;
+    private final LongOpenHashSet nodes = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<LeafNodeBehaviour<?, ?>> leafNodes = new Long2ObjectOpenHashMap<>();
+    private final Map<Key, LeafNodes> keyToLeafNodes = new Object2ObjectOpenHashMap<>();
+    private final LogisticsStats stats = new LogisticsStats();
+
+    public LogisticsNetwork(int id, ResourceKey<Level> dimension) {
+        this.id = id;
+        this.dimension = dimension;
+    }
+
+    public int id() {
+        return this.id;
+    }
+
+    public ResourceKey<Level> dimension() {
+        return this.dimension;
+    }
 
-    public Set<GlobalPos> nodes() {
+    public LongSet nodes() {
         return this.nodes;
     }
 
-    public Set<GlobalPos> getLeafNodes(Key key) {
-        return this.keyToLeafNodes.get(key);
+    /**
+     * The loaded leaf nodes of this network.
+     */
+    public Collection<LeafNodeBehaviour<?, ?>> leafNodes() {
+        return this.leafNodes.values();
+    }
+
+    /**
+     * The counters of this network itself (merges, splits, relinks), without the counters of its extractors.
+     */
+    public LogisticsStats stats() {
+        return this.stats;
+    }
+
+    /**
+     * Sums up the counters of this network and all its loaded extractors.
+     */
+    public LogisticsStats collectStats() {
+        var result = new LogisticsStats();
+        result.add(this.stats);
+        for (var leafNode : this.leafNodes.values()) {
+            if (leafNode.mode() == LeafNodeMode.EXTRACT) {
+                result.add(leafNode.asExtractor().stats());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the loaded leaf node at the given position, or null.
+     */
+    public LeafNodeBehaviour<?, ?> getLeafNode(long pos) {
+        return this.leafNodes.get(pos);
+    }
+
+    /**
+     * Gets the loaded inserter nodes in the sub-network defined by the given capability and frequency.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, C> Set<InserterNodeBehaviour<T, C>> getInserters(BlockCapability<T, C> capability, int frequency) {
+        var leafNodes = this.keyToLeafNodes.get(new Key(capability, frequency));
+        //noinspection rawtypes -> the key contains the capability type, so all nodes in the set have the right type
+        return leafNodes != null ? (Set) leafNodes.inserters : Set.of();
+    }
+
+    /**
+     * Gets the loaded extractor nodes in the sub-network defined by the given capability and frequency.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, C> Set<ExtractorNodeBehaviour<T, C>> getExtractors(BlockCapability<T, C> capability, int frequency) {
+        var leafNodes = this.keyToLeafNodes.get(new Key(capability, frequency));
+        //noinspection rawtypes -> the key contains the capability type, so all nodes in the set have the right type
+        return leafNodes != null ? (Set) leafNodes.extractors : Set.of();
     }
 
-    public Set<GlobalPos> getLeafNodes(BlockCapability<?, ?> capability, int frequency) {
-        return this.getLeafNodes(new Key(capability, frequency));
+    public GlobalPos globalPos(long pos) {
+        return GlobalPos.of(this.dimension, BlockPos.of(pos));
     }
 
-    public void addNode(GlobalPos pos) {
+    public void addNode(long pos) {
         this.nodes.add(pos);
     }
 
-    public void removeNode(GlobalPos pos) {
+    public void removeNode(long pos) {
         this.nodes.remove(pos);
     }
 
     public void addLeafNode(LeafNodeBehaviour<?, ?> leafNode) {
-        var pos = leafNode.globalPos();
-        this.leafNodes.add(pos);
-        this.keyToLeafNodes.put(new Key(leafNode.capabilityType(), leafNode.frequency()), pos);
+        var pos = leafNode.globalPos().pos().asLong();
+        var previous = this.leafNodes.put(pos, leafNode);
+        if (previous != null && previous != leafNode) {
+            //the block entity was replaced without unloading the old one first
+            this.unregister(new Key(previous.capabilityType(), previous.frequency()), previous);
+        }
+        this.register(new Key(leafNode.capabilityType(), leafNode.frequency()), leafNode);
 
         if (leafNode.mode() == LeafNodeMode.INSERT) {
             this.onLoadInsertNode(leafNode.asInserter());
@@ -64,9 +148,9 @@ public class LogisticsNetwork {
     }
 
     public void removeLeafNode(LeafNodeBehaviour<?, ?> leafNode) {
-        var pos = leafNode.globalPos();
-        this.leafNodes.remove(pos);
-        this.keyToLeafNodes.remove(new Key(leafNode.capabilityType(), leafNode.frequency()), pos);
+        var pos = leafNode.globalPos().pos().asLong();
+        this.leafNodes.remove(pos, leafNode);
+        this.unregister(new Key(leafNode.capabilityType(), leafNode.frequency()), leafNode);
 
         if (leafNode.mode() == LeafNodeMode.INSERT) {
             this.onUnloadInsertNode(leafNode.asInserter());
@@ -77,47 +161,30 @@ public class LogisticsNetwork {
     }
 
     public <T, C> void onInserterNodeTargetAdded(GlobalPos targetPos, BlockCapabilityCache<T, C> capability, InserterNodeBehaviour<T, C> leafNode) {
-        var otherNodes = this.getLeafNodes(leafNode.capabilityType(), leafNode.frequency());
-        for (var other : otherNodes) {
-            if (other.equals(leafNode.globalPos())) { //skip self
-                continue;
-            }
-
-            var otherLeafNode = Logistics.get().getLeafNode(other, LeafNodeMode.EXTRACT, leafNode.capabilityType());
-            if (otherLeafNode == null) {
-                continue;
-            }
-
-            var extractNode = otherLeafNode.asExtractor();
+        for (var extractNode : this.getExtractors(leafNode.capabilityType(), leafNode.frequency())) {
             extractNode.onTargetAddedToGraph(targetPos, capability, leafNode);
         }
     }
 
     public <T, C> void onInserterNodeTargetRemoved(GlobalPos targetPos, InserterNodeBehaviour<T, C> leafNode) {
-        var otherNodes = this.getLeafNodes(leafNode.capabilityType(), leafNode.frequency());
-        for (var other : otherNodes) {
-            if (other.equals(leafNode.globalPos())) { //skip self
-                continue;
-            }
-
-            var otherLeafNode = Logistics.get().getLeafNode(other, LeafNodeMode.EXTRACT, leafNode.capabilityType());
-            if (otherLeafNode == null) {
-                continue;
-            }
-
-            var extractNode = otherLeafNode.asExtractor();
+        for (var extractNode : this.getExtractors(leafNode.capabilityType(), leafNode.frequency())) {
             extractNode.onTargetRemovedFromGraph(targetPos, leafNode);
         }
     }
 
+    public <T, C> void onInserterNodeTargetUnloaded(GlobalPos targetPos, InserterNodeBehaviour<T, C> leafNode) {
+        for (var extractNode : this.getExtractors(leafNode.capabilityType(), leafNode.frequency())) {
+            extractNode.onTargetUnloaded(targetPos, leafNode);
+        }
+    }
+
 
     public <T, C> void onFrequencyChange(LeafNodeBehaviour<T, C> leafNode, BlockCapability<T, C> capability, int oldFrequency, int newFrequency) {
-        var pos = leafNode.globalPos();
         var oldKey = new Key(capability, oldFrequency);
         var newKey = new Key(capability, newFrequency);
 
-        this.keyToLeafNodes.remove(oldKey, pos);
-        this.keyToLeafNodes.put(newKey, pos);
+        this.unregister(oldKey, leafNode);
+        this.register(newKey, leafNode);
 
         //Note: When we update the network, it only updates currently loaded leaf nodes.
         //      That is ok -> the unloaded ones re-query their status when they are loaded.
@@ -154,19 +221,8 @@ public class LogisticsNetwork {
      * It rebuilds the cache of insert targets for the node.
      */
     public <T, C> void onLoadExtractNode(ExtractorNodeBehaviour<T, C> leafNode, Key newKey) {
-        var otherNodes = this.getLeafNodes(newKey);
-
-        for (var other : otherNodes) {
-            if (other.equals(leafNode.globalPos())) { //skip self
-                continue;
-            }
-
-            var otherLeafNode = Logistics.get().getLeafNode(other, LeafNodeMode.INSERT, leafNode.capabilityType());
-            if (otherLeafNode == null) {
-                continue;
-            }
-
-            leafNode.onLeafNodeAddedToGraph(other, otherLeafNode);
+        for (var inserter : this.getInserters(leafNode.capabilityType(), newKey.frequency())) {
+            leafNode.onLeafNodeAddedToGraph(inserter.globalPos(), inserter);
         }
     }
 
@@ -201,18 +257,7 @@ public class LogisticsNetwork {
      */
     public <T, C> void onLoadInsertNode(InserterNodeBehaviour<T, C> leafNode, Key newKey) {
         //we need to inform all our new nodes that they have to add us
-        var newSet = this.keyToLeafNodes.get(newKey);
-        for (var other : newSet) {
-            if (other.equals(leafNode.globalPos())) {
-                continue;
-            }
-
-            var otherLeafNode = Logistics.get().getLeafNode(other, LeafNodeMode.EXTRACT, leafNode.capabilityType());
-            if (otherLeafNode == null) {
-                continue;
-            }
-
-            var extractNode = otherLeafNode.asExtractor();
+        for (var extractNode : this.getExtractors(leafNode.capabilityType(), newKey.frequency())) {
             extractNode.onLeafNodeAddedToGraph(leafNode.globalPos(), leafNode);
         }
     }
@@ -231,18 +276,7 @@ public class LogisticsNetwork {
      */
     public <T, C> void onUnloadInsertNode(InserterNodeBehaviour<T, C> leafNode, Key oldKey) {
         //we need to inform all our nodes that they have to remove us
-        var oldSet = this.keyToLeafNodes.get(oldKey);
-        for (var other : oldSet) {
-            if (other.equals(leafNode.globalPos())) {
-                continue;
-            }
-
-            var otherLeafNode = Logistics.get().getLeafNode(other, LeafNodeMode.EXTRACT, leafNode.capabilityType());
-            if (otherLeafNode == null) {
-                continue;
-            }
-
-            var extractNode = otherLeafNode.asExtractor();
+        for (var extractNode : this.getExtractors(leafNode.capabilityType(), oldKey.frequency())) {
             extractNode.onLeafNodeRemovedFromGraph(leafNode.globalPos(), leafNode);
         }
     }
@@ -251,45 +285,130 @@ public class LogisticsNetwork {
      * Merges the other network into this one.
      */
     public void merge(LogisticsNetwork other) {
+        this.stats.add(other.stats);
+        this.stats.recordMerge();
         this.nodes.addAll(other.nodes);
-        this.leafNodes.addAll(other.leafNodes);
-        this.keyToLeafNodes.putAll(other.keyToLeafNodes);
+        this.leafNodes.putAll(other.leafNodes);
+        other.keyToLeafNodes.forEach((key, leafNodes) -> {
+            var target = this.keyToLeafNodes.computeIfAbsent(key, k -> new LeafNodes());
+            target.inserters.addAll(leafNodes.inserters);
+            target.extractors.addAll(leafNodes.extractors);
+        });
+    }
+
+    /**
+     * Links the leaf nodes of another network that is about to be merged into this one with the leaf nodes of this network.
+     * Call before merge(): the extractors of this network learn about the other network's insert targets,
+     * and the other network's extractors learn about our insert targets.
+     */
+    public void linkWith(LogisticsNetwork other) {
+        this.stats.recordRelink();
+        for (var node : other.leafNodes.values()) {
+            if (node.mode() == LeafNodeMode.EXTRACT) {
+                this.onLoadExtractNode(node.asExtractor());
+            }
+            if (node.mode() == LeafNodeMode.INSERT) {
+                this.onLoadInsertNode(node.asInserter());
+            }
+        }
+    }
+
+    /**
+     * Moves the given nodes, including their leaf node registrations, from this network into the other network.
+     * Does not notify any leaf nodes, see onSplitFrom.
+     */
+    public void transferNodes(LongIterable nodes, LogisticsNetwork target) {
+        for (var iterator = nodes.iterator(); iterator.hasNext(); ) {
+            var pos = iterator.nextLong();
+            this.nodes.remove(pos);
+            target.nodes.add(pos);
+
+            var leafNode = this.leafNodes.remove(pos);
+            if (leafNode != null) {
+                var key = new Key(leafNode.capabilityType(), leafNode.frequency());
+                this.unregister(key, leafNode);
+                target.leafNodes.put(pos, leafNode);
+                target.register(key, leafNode);
+            }
+        }
+    }
+
+    /**
+     * Called on a network that was just split off from the old network.
+     * Only relinks the leaf nodes that moved, instead of rebuilding the caches of both networks:
+     * Extractors that moved drop all their insert targets and relink within this network,
+     * inserters that moved are removed from the extractors that stayed in the old network.
+     */
+    public void onSplitFrom(LogisticsNetwork oldNetwork) {
+        this.stats.recordRelink();
+        for (var node : this.leafNodes.values()) {
+            if (node.mode() == LeafNodeMode.EXTRACT) {
+                this.onUnloadExtractNode(node.asExtractor());
+                this.onLoadExtractNode(node.asExtractor());
+            }
+            if (node.mode() == LeafNodeMode.INSERT) {
+                oldNetwork.onUnloadInsertNode(node.asInserter());
+            }
+        }
     }
 
     /**
      * Forces all nodes to rebuild their caches.
      */
     public void rebuildCaches() {
-        Logistics.get().enableLeafNodeCache();
+        this.stats.recordRelink();
         //first unload all to unlink them
-        for (var leafNode : this.leafNodes) {
-            var node = Logistics.get().getLeafNode(leafNode);
-            if (node != null) {
-                if (node.mode() == LeafNodeMode.EXTRACT) {
-                    this.onUnloadExtractNode(node.asExtractor());
-                }
-                if (node.mode() == LeafNodeMode.INSERT) {
-                    //no need to call unload here as it just notifies the extractors, which we reset anyay
-                    //this.onUnloadInsertNode(node.asInserter());
-                }
+        for (var node : this.leafNodes.values()) {
+            if (node.mode() == LeafNodeMode.EXTRACT) {
+                this.onUnloadExtractNode(node.asExtractor());
+            }
+            if (node.mode() == LeafNodeMode.INSERT) {
+                //no need to call unload here as it just notifies the extractors, which we reset anyay
+                //this.onUnloadInsertNode(node.asInserter());
             }
         }
         //then load all to link them
-        for (var leafNode : this.leafNodes) {
-            var node = Logistics.get().getLeafNode(leafNode);
-            if (node != null) {
-                if (node.mode() == LeafNodeMode.EXTRACT) {
-                    //now there is no need to call load here, as the load insert will notify the extractors
-                    //this.onLoadExtractNode(node.asExtractor());
-                }
-                if (node.mode() == LeafNodeMode.INSERT) {
-                    this.onLoadInsertNode(node.asInserter());
-                }
+        for (var node : this.leafNodes.values()) {
+            if (node.mode() == LeafNodeMode.EXTRACT) {
+                //now there is no need to call load here, as the load insert will notify the extractors
+                //this.onLoadExtractNode(node.asExtractor());
+            }
+            if (node.mode() == LeafNodeMode.INSERT) {
+                this.onLoadInsertNode(node.asInserter());
             }
         }
-        Logistics.get().disableLeafNodeCache();
+    }
+
+    private void register(Key key, LeafNodeBehaviour<?, ?> leafNode) {
+        var leafNodes = this.keyToLeafNodes.computeIfAbsent(key, k -> new LeafNodes());
+        if (leafNode.mode() == LeafNodeMode.INSERT) {
+            leafNodes.inserters.add(leafNode.asInserter());
+        }
+        if (leafNode.mode() == LeafNodeMode.EXTRACT) {
+            leafNodes.extractors.add(leafNode.asExtractor());
+        }
+    }
+
+    private void unregister(Key key, LeafNodeBehaviour<?, ?> leafNode) {
+        var leafNodes = this.keyToLeafNodes.get(key);
+        if (leafNodes == null)
+            return;
+
+        leafNodes.inserters.remove(leafNode);
+        leafNodes.extractors.remove(leafNode);
+        if (leafNodes.inserters.isEmpty() && leafNodes.extractors.isEmpty()) {
+            this.keyToLeafNodes.remove(key);
+        }
     }
 
     public record Key(BlockCapability<?, ?> capability, int frequency) {
     }
+
+    /**
+     * The loaded leaf nodes of one sub-network, split by mode.
+     */
+    private static class LeafNodes {
+        private final Set<InserterNodeBehaviour<?, ?>> inserters = new ReferenceOpenHashSet<>();
+        private final Set<ExtractorNodeBehaviour<?, ?>> extractors = new ReferenceOpenHashSet<>();
+    }
 }
@@ -0,0 +1,190 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import com.klikli_dev.theurgy.content.behaviour.logistics.ExtractorNodeBehaviour;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedules the extraction ticks of all extractor nodes within one level.
+ * <p>
+ * Instead of letting every extractor block entity tick every game tick just to find out it is not its turn yet,
+ * extractors are placed into a timing wheel of tick buckets. Each tick only the bucket that is due is looked at.
+ * Delays longer than the wheel are handled by letting an entry survive additional rotations of the wheel.
+ * <p>
+ * New extractors are placed into the least loaded bucket so the load spreads evenly across ticks,
+ * and the number of extractions per tick is capped - anything above the cap is deferred to the next tick.
+ * <p>
+ * Idle extractors report a growing delay until their next extraction (exponential backoff), and extractors that cannot do anything
+ * at all (e.g. no insert targets) go dormant and are not rescheduled. Both are reset by wake().
+ */
+public class LogisticsScheduler {
+    /**
+     * The number of buckets in the wheel. Matches the default extraction interval, so periodic extractors always land in the same bucket.
+     */
+    public static final int WHEEL_SIZE = 20;
+    /**
+     * Upper bound of extractions performed per tick.
+     */
+    public static final int MAX_EXTRACTIONS_PER_TICK = 256;
+
+    private final List<Entry>[] buckets;
+    private final Map<ExtractorNodeBehaviour<?, ?>, Entry> entries = new Reference2ObjectOpenHashMap<>();
+    private final ArrayDeque<Entry> due = new ArrayDeque<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public LogisticsScheduler() {
+        this.buckets = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Registers the extractor with the scheduler. Its first extraction tick is placed into the least loaded bucket.
+     * Does nothing if the extractor is already registered.
+     */
+    public void register(ExtractorNodeBehaviour<?, ?> extractor) {
+        if (this.entries.containsKey(extractor))
+            return;
+
+        var entry = new Entry(extractor);
+        this.entries.put(extractor, entry);
+        this.schedule(entry, this.leastLoadedDelay());
+    }
+
+    /**
+     * Removes the extractor from the scheduler. Removal is lazy, the entry is dropped the next time its bucket is processed.
+     */
+    public void unregister(ExtractorNodeBehaviour<?, ?> extractor) {
+        var entry = this.entries.remove(extractor);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    /**
+     * Schedules the extractor for the next tick if it is dormant or backed off.
+     * Does nothing if the extractor is not registered or already runs at its normal interval.
+     */
+    public void wake(ExtractorNodeBehaviour<?, ?> extractor) {
+        var entry = this.entries.get(extractor);
+        if (entry == null)
+            return;
+
+        if (entry.dormant) {
+            entry.dormant = false;
+            this.schedule(entry, 1);
+        } else if (entry.delay > extractor.extractionInterval()) {
+            //the old entry sits in a bucket far in the future, so we replace it
+            entry.cancelled = true;
+            var newEntry = new Entry(extractor);
+            this.entries.put(extractor, newEntry);
+            this.schedule(newEntry, 1);
+        }
+    }
+
+    public boolean isRegistered(ExtractorNodeBehaviour<?, ?> extractor) {
+        return this.entries.containsKey(extractor);
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Call once per level tick.
+     */
+    public void tick() {
+        this.currentTick++;
+
+        //collect all entries from the current bucket that are due this rotation, keep the others for a later rotation
+        var bucket = this.buckets[this.slot(this.currentTick)];
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            var entry = bucket.get(i);
+            if (entry.cancelled)
+                continue;
+
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                bucket.set(kept++, entry);
+            } else {
+                this.due.add(entry);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+
+        //then run as many as we are allowed to, the rest stays queued for the next tick
+        int performed = 0;
+        while (performed < MAX_EXTRACTIONS_PER_TICK && !this.due.isEmpty()) {
+            var entry = this.due.poll();
+            if (entry.cancelled)
+                continue;
+
+            if (entry.extractor.isRemoved()) {
+                this.unregister(entry.extractor);
+                continue;
+            }
+
+            entry.extractor.tickScheduled();
+            performed++;
+
+            if (entry.extractor.isDormant()) {
+                //dormant extractors stay registered, but are only rescheduled by wake()
+                entry.dormant = true;
+                continue;
+            }
+
+            this.schedule(entry, Math.max(1, entry.extractor.nextExtractionDelay()));
+        }
+    }
+
+    private void schedule(Entry entry, int delay) {
+        //the bucket (currentTick + delay) is first visited after ((delay - 1) % WHEEL_SIZE) + 1 ticks,
+        //so the entry has to survive (delay - 1) / WHEEL_SIZE additional visits before it is due.
+        entry.delay = delay;
+        entry.rounds = (delay - 1) / WHEEL_SIZE;
+        this.buckets[this.slot(this.currentTick + delay)].add(entry);
+    }
+
+    /**
+     * Finds the delay (within one rotation) to the bucket with the fewest entries.
+     */
+    private int leastLoadedDelay() {
+        int bestDelay = 1;
+        int bestSize = Integer.MAX_VALUE;
+        for (int delay = 1; delay <= WHEEL_SIZE; delay++) {
+            int size = this.buckets[this.slot(this.currentTick + delay)].size();
+            if (size < bestSize) {
+                bestSize = size;
+                bestDelay = delay;
+            }
+        }
+        return bestDelay;
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    private static class Entry {
+        private final ExtractorNodeBehaviour<?, ?> extractor;
+        private int delay;
+        private int rounds;
+        private boolean cancelled;
+        private boolean dormant;
+
+        private Entry(ExtractorNodeBehaviour<?, ?> extractor) {
+            this.extractor = extractor;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Throughput and maintenance counters of the logistics system.
+ * <p>
+ * Extractors count what they move and how long their extraction ticks take, networks count how often they had to relink their leaf nodes.
+ * The same class is used to aggregate the counters per network and per dimension, see LogisticsNetwork.collectStats().
+ * Counters are not persisted, they start at zero after every load.
+ */
+public class LogisticsStats {
+    private long extractions;
+    private long idleExtractions;
+    private long failedSimulations;
+    private long itemsMoved;
+    private long fluidMoved;
+    private long extractionNanos;
+    private long merges;
+    private long splits;
+    private long relinks;
+
+    public void recordExtraction(long nanos, boolean moved) {
+        this.extractions++;
+        this.extractionNanos += nanos;
+        if (!moved)
+            this.idleExtractions++;
+    }
+
+    public void recordFailedSimulation() {
+        this.failedSimulations++;
+    }
+
+    public void recordItemsMoved(int count) {
+        this.itemsMoved += count;
+    }
+
+    public void recordFluidMoved(int amount) {
+        this.fluidMoved += amount;
+    }
+
+    public void recordMerge() {
+        this.merges++;
+    }
+
+    public void recordSplit() {
+        this.splits++;
+    }
+
+    public void recordRelink() {
+        this.relinks++;
+    }
+
+    public void add(LogisticsStats other) {
+        this.extractions += other.extractions;
+        this.idleExtractions += other.idleExtractions;
+        this.failedSimulations += other.failedSimulations;
+        this.itemsMoved += other.itemsMoved;
+        this.fluidMoved += other.fluidMoved;
+        this.extractionNanos += other.extractionNanos;
+        this.merges += other.merges;
+        this.splits += other.splits;
+        this.relinks += other.relinks;
+    }
+
+    public void reset() {
+        this.extractions = 0;
+        this.idleExtractions = 0;
+        this.failedSimulations = 0;
+        this.itemsMoved = 0;
+        this.fluidMoved = 0;
+        this.extractionNanos = 0;
+        this.merges = 0;
+        this.splits = 0;
+        this.relinks = 0;
+    }
+
+    public long extractions() {
+        return this.extractions;
+    }
+
+    public long idleExtractions() {
+        return this.idleExtractions;
+    }
+
+    public long failedSimulations() {
+        return this.failedSimulations;
+    }
+
+    public long itemsMoved() {
+        return this.itemsMoved;
+    }
+
+    public long fluidMoved() {
+        return this.fluidMoved;
+    }
+
+    public long extractionNanos() {
+        return this.extractionNanos;
+    }
+
+    public long merges() {
+        return this.merges;
+    }
+
+    public long splits() {
+        return this.splits;
+    }
+
+    public long relinks() {
+        return this.relinks;
+    }
+
+    public JsonObject toJson() {
+        var json = new JsonObject();
+        json.addProperty("extractions", this.extractions);
+        json.addProperty("idleExtractions", this.idleExtractions);
+        json.addProperty("failedSimulations", this.failedSimulations);
+        json.addProperty("itemsMoved", this.itemsMoved);
+        json.addProperty("fluidMoved", this.fluidMoved);
+        json.addProperty("extractionNanos", this.extractionNanos);
+        json.addProperty("merges", this.merges);
+        json.addProperty("splits", this.splits);
+        json.addProperty("relinks", this.relinks);
+        return json;
+    }
+}
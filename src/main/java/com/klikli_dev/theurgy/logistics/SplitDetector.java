@@ -0,0 +1,181 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.logistics;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Detects if removing an edge or a node split a connected part of the logistics graph, without traversing all of it.
+ * <p>
+ * A breadth-first search is started from each root (the endpoints of the removed edge, or the neighbors of the removed node).
+ * The searches advance one node at a time, taking turns. Searches that run into each other are merged, as they are in the same part.
+ * As soon as at most one group of searches is still running, all other groups have fully explored their part.
+ * These parts were split off, while the still running group is the remaining - and largest - part of the old network.
+ * <p>
+ * In the common case (no split) the searches meet close to the removed edge, so the cost does not depend on the network size.
+ * If there is a split, only the split off parts are explored fully.
+ * <p>
+ * Nodes are positions packed with BlockPos.asLong(), matching the storage of the LogisticsGraph.
+ */
+class SplitDetector {
+    private final LongFunction<LongSet> adjacency;
+    private final Long2IntOpenHashMap owner = new Long2IntOpenHashMap();
+    private final List<Search> searches = new ArrayList<>();
+    private int[] parent;
+
+    private SplitDetector(LongFunction<LongSet> adjacency) {
+        this.adjacency = adjacency;
+        this.owner.defaultReturnValue(-1);
+    }
+
+    /**
+     * Finds the parts that were split off after a removal.
+     *
+     * @param roots     the nodes that were connected through the removed edge or node.
+     * @param adjacency provides the neighbors of a node in the graph after the removal.
+     * @return the nodes of each split off part. The largest part is not included, it keeps the old network.
+     * Empty if the roots are still connected.
+     */
+    public static List<LongList> detect(LongCollection roots, LongFunction<LongSet> adjacency) {
+        var distinctRoots = new LongLinkedOpenHashSet(roots);
+        if (distinctRoots.size() <= 1)
+            return List.of(); //one root can't be split from anything
+
+        return new SplitDetector(adjacency).run(distinctRoots);
+    }
+
+    private List<LongList> run(LongCollection roots) {
+        this.parent = new int[roots.size()];
+        var iterator = roots.iterator();
+        while (iterator.hasNext()) {
+            long root = iterator.nextLong();
+            int index = this.searches.size();
+            this.parent[index] = index;
+            this.owner.put(root, index);
+            this.searches.add(new Search(root));
+        }
+
+        //advance all searches in turns until at most one group is left running
+        while (this.countRunningGroups() > 1) {
+            for (int i = 0; i < this.searches.size(); i++) {
+                this.step(i);
+            }
+        }
+
+        return this.collectSplitParts();
+    }
+
+    private void step(int index) {
+        var search = this.searches.get(index);
+        if (search.frontier.isEmpty())
+            return;
+
+        var neighbors = this.adjacency.apply(search.frontier.dequeueLong()).iterator();
+        while (neighbors.hasNext()) {
+            long neighbor = neighbors.nextLong();
+            int otherIndex = this.owner.get(neighbor);
+            if (otherIndex == -1) {
+                this.owner.put(neighbor, index);
+                search.visited.add(neighbor);
+                search.frontier.enqueue(neighbor);
+            } else {
+                this.union(index, otherIndex); //we ran into another search, so both are in the same part
+            }
+        }
+    }
+
+    private int countRunningGroups() {
+        int count = 0;
+        var seen = new boolean[this.searches.size()];
+        for (int i = 0; i < this.searches.size(); i++) {
+            if (this.searches.get(i).frontier.isEmpty())
+                continue;
+
+            int root = this.find(i);
+            if (!seen[root]) {
+                seen[root] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<LongList> collectSplitParts() {
+        int n = this.searches.size();
+        var parts = new ArrayList<LongList>(n);
+        var running = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            parts.add(null);
+            if (!this.searches.get(i).frontier.isEmpty()) {
+                running[this.find(i)] = true;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            int root = this.find(i);
+            if (parts.get(root) == null) {
+                parts.set(root, new LongArrayList());
+            }
+            parts.get(root).addAll(this.searches.get(i).visited);
+        }
+
+        //the running group (if any) is the part that stays in the old network.
+        //if every group finished, the largest one stays.
+        int keep = -1;
+        for (int i = 0; i < n; i++) {
+            if (running[i]) {
+                keep = i;
+                break;
+            }
+            if (parts.get(i) != null && (keep == -1 || parts.get(i).size() > parts.get(keep).size())) {
+                keep = i;
+            }
+        }
+
+        var result = new ArrayList<LongList>();
+        for (int i = 0; i < n; i++) {
+            if (i != keep && parts.get(i) != null && this.find(i) == i) {
+                result.add(parts.get(i));
+            }
+        }
+        return result;
+    }
+
+    private int find(int index) {
+        while (this.parent[index] != index) {
+            this.parent[index] = this.parent[this.parent[index]];
+            index = this.parent[index];
+        }
+        return index;
+    }
+
+    private void union(int a, int b) {
+        int rootA = this.find(a);
+        int rootB = this.find(b);
+        if (rootA != rootB) {
+            this.parent[rootB] = rootA;
+        }
+    }
+
+    private static class Search {
+        private final LongArrayFIFOQueue frontier = new LongArrayFIFOQueue();
+        private final LongArrayList visited = new LongArrayList();
+
+        private Search(long root) {
+            this.frontier.enqueue(root);
+            this.visited.add(root);
+        }
+    }
+}
@@ -7,107 +7,268 @@
 
 package com.klikli_dev.theurgy.logistics;
 
-import com.mojang.blaze3d.vertex.PoseStack;
-import com.mojang.blaze3d.vertex.VertexConsumer;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
-import net.minecraft.client.Minecraft;
+import com.klikli_dev.theurgy.config.ClientConfig;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.client.renderer.RenderType;
-import net.minecraft.client.renderer.entity.EntityRenderDispatcher;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.neoforge.client.event.RenderLevelStageEvent;
 import org.joml.Matrix4f;
 
-import java.util.Collections;
-import java.util.Set;
-
+/**
+ * Renders the wires of the client level.
+ * <p>
+ * Wires are grouped by the chunk section of their lower end, and each section is baked into a vertex buffer.
+ * Buffers are only rebuilt if a wire of the section is added or removed, so the catenary is not recalculated every frame.
+ * Sections outside the frustum or the configured render distance are skipped, far away sections use a coarser mesh.
+ */
 public class WireRenderer {
 
     private static final WireRenderer instance = new WireRenderer();
 
-    public Set<Wire> wires = Collections.synchronizedSet(new ObjectOpenHashSet<>());
+    /**
+     * Sections further away than this fraction of the render distance use the coarse mesh.
+     */
+    private static final double DETAILED_DISTANCE_FRACTION = 0.5;
+    /**
+     * The coarse mesh only uses every n-th point of the catenary, 16 segments become 4.
+     */
+    private static final int COARSE_POINT_STEP = 4;
+
+    private final Long2ObjectOpenHashMap<WireSection> sections = new Long2ObjectOpenHashMap<>();
+    private final Matrix4f sectionMatrix = new Matrix4f();
+    private ByteBufferBuilder byteBuffer;
 
     public static WireRenderer get() {
         return instance;
     }
 
+    private static BlockPos lowerEnd(Wire wire) {
+        return wire.from().getY() <= wire.to().getY() ? wire.from() : wire.to();
+    }
+
+    private static BlockPos upperEnd(Wire wire) {
+        return wire.from().getY() <= wire.to().getY() ? wire.to() : wire.from();
+    }
+
+    private static double distanceSqr(AABB bounds, Vec3 pos) {
+        double dx = Math.max(Math.max(bounds.minX - pos.x, pos.x - bounds.maxX), 0);
+        double dy = Math.max(Math.max(bounds.minY - pos.y, pos.y - bounds.maxY), 0);
+        double dz = Math.max(Math.max(bounds.minZ - pos.z, pos.z - bounds.maxZ), 0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public void addWire(Wire wire) {
+        var key = SectionPos.asLong(lowerEnd(wire));
+        this.sections.computeIfAbsent(key, WireSection::new).add(wire);
+    }
+
+    public void removeWire(Wire wire) {
+        var key = SectionPos.asLong(lowerEnd(wire));
+        var section = this.sections.get(key);
+        if (section != null && section.remove(wire) && section.isEmpty()) {
+            section.close();
+            this.sections.remove(key);
+        }
+    }
+
+    public void clear() {
+        this.sections.values().forEach(WireSection::close);
+        this.sections.clear();
+    }
+
     public void onRenderLevelStage(RenderLevelStageEvent event) {
-        var bufferSource = Minecraft.getInstance().renderBuffers().bufferSource();
-        var poseStack = event.getPoseStack();
+        if (this.sections.isEmpty())
+            return;
 
-        EntityRenderDispatcher erd = Minecraft.getInstance().getEntityRenderDispatcher();
-        double renderPosX = erd.camera.getPosition().x();
-        double renderPosY = erd.camera.getPosition().y();
-        double renderPosZ = erd.camera.getPosition().z();
+        var camera = event.getCamera().getPosition();
+        var frustum = event.getFrustum();
+        double maxDistance = ClientConfig.get().rendering.wireRenderDistance.get();
+        double maxDistanceSqr = maxDistance * maxDistance;
+        double detailedDistanceSqr = maxDistanceSqr * DETAILED_DISTANCE_FRACTION * DETAILED_DISTANCE_FRACTION;
 
-        poseStack.pushPose();
-        poseStack.translate(-renderPosX, -renderPosY, -renderPosZ);
+        //the buffers are baked relative to the section origin, so we only need to translate by the origin relative to the camera
+        var modelView = new Matrix4f(RenderSystem.getModelViewMatrix()).mul(event.getPoseStack().last().pose());
+        var projection = RenderSystem.getProjectionMatrix();
 
         //we use lines() to avoid all the wires getting connected as it would happen with linestrip
-        var buffer = bufferSource.getBuffer(RenderType.lines());
-        for (var wire : this.wires) {
-            poseStack.pushPose();
-            poseStack.translate(wire.from().getX(), wire.from().getY(), wire.from().getZ());
-            this.renderWire(buffer, poseStack, wire.from().getCenter(), wire.to().getCenter());
-            poseStack.popPose();
+        var renderType = RenderType.lines();
+        renderType.setupRenderState();
+        var shader = RenderSystem.getShader();
+
+        for (var section : this.sections.values()) {
+            var bounds = section.bounds();
+            double distanceSqr = distanceSqr(bounds, camera);
+            if (distanceSqr > maxDistanceSqr)
+                continue;
+            if (frustum != null && !frustum.isVisible(bounds))
+                continue;
+
+            var buffer = section.buffer(distanceSqr <= detailedDistanceSqr, this.byteBuffer());
+            if (buffer == null)
+                continue;
+
+            this.sectionMatrix.set(modelView).translate(
+                    (float) (section.origin.getX() - camera.x),
+                    (float) (section.origin.getY() - camera.y),
+                    (float) (section.origin.getZ() - camera.z));
+            buffer.bind();
+            buffer.drawWithShader(this.sectionMatrix, projection, shader);
         }
-        poseStack.popPose();
 
-        //TODO: render cache?
-        //  look up wire in cache
-        //  render wires to cache, if not in cache.
-        //  clear cache if related wire is no longer rendered (probably should be done from Wires class)
+        VertexBuffer.unbind();
+        renderType.clearRenderState();
     }
 
-    private void renderWire(VertexConsumer vertexBuilder, PoseStack poseStack, Vec3 startPos, Vec3 endPos) {
-        poseStack.pushPose();
-        {
+    private ByteBufferBuilder byteBuffer() {
+        if (this.byteBuffer == null) {
+            //sized for a section with a few wires, grows if needed
+            this.byteBuffer = new ByteBufferBuilder(DefaultVertexFormat.POSITION_COLOR_NORMAL.getVertexSize() * 32 * 16);
+        }
+        return this.byteBuffer;
+    }
+
+    private static class WireSection {
+        private final BlockPos origin;
+        /**
+         * The wires of this section with their bounds, including the sag.
+         */
+        private final Object2ObjectOpenHashMap<Wire, AABB> wires = new Object2ObjectOpenHashMap<>();
+        private AABB bounds;
+        private VertexBuffer detailedBuffer;
+        private VertexBuffer coarseBuffer;
 
-            boolean translateSwap = false;
-            if (startPos.y() > endPos.y()) {
-                Vec3 swap = startPos;
-                startPos = endPos;
-                endPos = swap;
-                translateSwap = true;
+        public WireSection(long sectionPos) {
+            this.origin = SectionPos.of(sectionPos).origin();
+        }
+
+        private static AABB bounds(Vec3[] points) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+            for (var point : points) {
+                minX = Math.min(minX, point.x);
+                minY = Math.min(minY, point.y);
+                minZ = Math.min(minZ, point.z);
+                maxX = Math.max(maxX, point.x);
+                maxY = Math.max(maxY, point.y);
+                maxZ = Math.max(maxZ, point.z);
             }
+            return new AABB(minX, minY, minZ, maxX, maxY, maxZ).inflate(0.1);
+        }
 
-            poseStack.translate(0.5D, 0.5D, 0.5D);
+        public void add(Wire wire) {
+            var points = WireSlackHelper.getInterpolatedPoints(lowerEnd(wire).getCenter(), upperEnd(wire).getCenter());
+            var wireBounds = bounds(points);
+            if (this.wires.put(wire, wireBounds) == null) {
+                this.bounds = this.bounds == null ? wireBounds : this.bounds.minmax(wireBounds);
+                this.invalidate();
+            }
+        }
 
-            double startX = startPos.x();
-            double startY = startPos.y();
-            double startZ = startPos.z();
+        /**
+         * @return true if the wire was part of this section.
+         */
+        public boolean remove(Wire wire) {
+            if (this.wires.remove(wire) == null)
+                return false;
 
-            double endX = endPos.x();
-            double endY = endPos.y();
-            double endZ = endPos.z();
-            float dx = (float) (endX - startX);
-            float dy = (float) (endY - startY);
-            float dz = (float) (endZ - startZ);
-            if (translateSwap) {
-                poseStack.translate(-dx, -dy, -dz);
+            this.bounds = null;
+            for (var wireBounds : this.wires.values()) {
+                this.bounds = this.bounds == null ? wireBounds : this.bounds.minmax(wireBounds);
             }
-            Matrix4f fourMatrix = poseStack.last().pose();
+            this.invalidate();
+            return true;
+        }
+
+        public boolean isEmpty() {
+            return this.wires.isEmpty();
+        }
+
+        public AABB bounds() {
+            return this.bounds;
+        }
 
-            Vec3[] points = WireSlackHelper.getInterpolatedDifferences(endPos.subtract(startPos));
+        /**
+         * Gets the baked mesh, building it if the wires changed since the last call.
+         *
+         * @return the buffer, or null if there is nothing to render.
+         */
+        public VertexBuffer buffer(boolean detailed, ByteBufferBuilder byteBuffer) {
+            if (detailed) {
+                if (this.detailedBuffer == null)
+                    this.detailedBuffer = this.build(1, byteBuffer);
+                return this.detailedBuffer;
+            }
 
-            poseStack.pushPose();
-            for (int line = 0; line < points.length - 1; line++) {
-                Vec3 firstPoint = points[line];
-                Vec3 secondPoint = points[line + 1];
+            if (this.coarseBuffer == null)
+                this.coarseBuffer = this.build(COARSE_POINT_STEP, byteBuffer);
+            return this.coarseBuffer;
+        }
 
-                Vec3 normal = secondPoint.subtract(firstPoint).normalize();
-                Vec3 reverseNormal = firstPoint.subtract(secondPoint).normalize();
+        public void close() {
+            this.invalidate();
+        }
 
-                vertexBuilder.addVertex(fourMatrix, (float) firstPoint.x(), (float) firstPoint.y(), (float) firstPoint.z())
+        private void invalidate() {
+            //buffers are rebuilt lazily the next time the section is rendered
+            if (this.detailedBuffer != null) {
+                var buffer = this.detailedBuffer;
+                RenderSystem.recordRenderCall(buffer::close);
+                this.detailedBuffer = null;
+            }
+            if (this.coarseBuffer != null) {
+                var buffer = this.coarseBuffer;
+                RenderSystem.recordRenderCall(buffer::close);
+                this.coarseBuffer = null;
+            }
+        }
+
+        private VertexBuffer build(int pointStep, ByteBufferBuilder byteBuffer) {
+            var builder = new BufferBuilder(byteBuffer, VertexFormat.Mode.LINES, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+            for (var wire : this.wires.keySet()) {
+                this.addWireVertices(builder, wire, pointStep);
+            }
+
+            var mesh = builder.build();
+            if (mesh == null)
+                return null;
+
+            var buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            buffer.bind();
+            buffer.upload(mesh);
+            VertexBuffer.unbind();
+            return buffer;
+        }
+
+        private void addWireVertices(BufferBuilder builder, Wire wire, int pointStep) {
+            //the catenary is calculated from the lower to the upper end, relative to the section origin
+            var start = lowerEnd(wire).getCenter().subtract(this.origin.getX(), this.origin.getY(), this.origin.getZ());
+            var end = upperEnd(wire).getCenter().subtract(this.origin.getX(), this.origin.getY(), this.origin.getZ());
+            var points = WireSlackHelper.getInterpolatedPoints(start, end);
+
+            for (int i = 0; i < points.length - 1; i += pointStep) {
+                var first = points[i];
+                var second = points[Math.min(i + pointStep, points.length - 1)];
+
+                var normal = second.subtract(first).normalize();
+
+                builder.addVertex((float) first.x, (float) first.y, (float) first.z)
                         .setColor(0, 0, 0, 255)
-                        .setNormal(poseStack.last(), (float) normal.x(), (float) normal.y(), (float) normal.z());
+                        .setNormal((float) normal.x, (float) normal.y, (float) normal.z);
 
-                vertexBuilder.addVertex(fourMatrix, (float) secondPoint.x(), (float) secondPoint.y(), (float) secondPoint.z())
+                builder.addVertex((float) second.x, (float) second.y, (float) second.z)
                         .setColor(0, 0, 0, 255)
-                        .setNormal(poseStack.last(), (float) reverseNormal.x(), (float) reverseNormal.y(), (float) reverseNormal.z());
+                        .setNormal((float) -normal.x, (float) -normal.y, (float) -normal.z);
             }
-            poseStack.popPose();
-
         }
-        poseStack.popPose();
     }
 }
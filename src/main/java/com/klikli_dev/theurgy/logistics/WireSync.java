@@ -4,32 +4,49 @@
 
 package com.klikli_dev.theurgy.logistics;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
 import com.klikli_dev.theurgy.network.Networking;
 import com.klikli_dev.theurgy.network.messages.MessageAddWires;
 import com.klikli_dev.theurgy.network.messages.MessageRemoveWires;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.event.level.ChunkWatchEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Syncs the wires in the chunks a player watches to the client.
+ * <p>
+ * Changes are not sent immediately, but collected in a per-player outbox that is flushed once per server tick.
+ * This way bulk wiring operations and players moving through wired areas result in at most one add and one remove message per tick.
+ */
 public class WireSync {
     private static final WireSync instance = new WireSync();
 
     /**
-     * one player can watch multiple chunks, and one chunk can be watched by multiple players, so we need a multimap
+     * one player can watch multiple chunks (as ChunkPos.toLong()), and one chunk can be watched by multiple players
      * we do not need to keep track of the level, because if a player changes level he will unwatch all chunkPos in that level
      */
-    private final SetMultimap<UUID, ChunkPos> playerToWatchedChunk = HashMultimap.create();
+    private final Map<UUID, LongSet> playerToWatchedChunk = new Object2ObjectOpenHashMap<>();
     /**
      * Reverse map to allow lookup of all players watching a chunk
      */
-    private final SetMultimap<ChunkPos, UUID> watchedChunkToPlayers = HashMultimap.create();
+    private final Long2ObjectOpenHashMap<Set<UUID>> watchedChunkToPlayers = new Long2ObjectOpenHashMap<>();
+    /**
+     * The wire changes that have not been sent to each player yet.
+     */
+    private final Map<UUID, Outbox> outboxes = new Object2ObjectOpenHashMap<>();
 
     public static WireSync get() {
         return instance;
@@ -40,12 +57,8 @@ public class WireSync {
      * Needs to be called BEFORE the wire has been removed from the serverside wire multimaps
      */
     public void sendRemoveWireToWatchingPlayers(ServerLevel level, Wire wire) {
-        var players = this.getWatchingPlayers(level, wire);
-        var message = new MessageRemoveWires(Set.of(wire));
-
-        for (var playerUUID : players) {
-            var player = level.getServer().getPlayerList().getPlayer(playerUUID); //this uses a map and is faster than level.getPlayerByUUID
-            Networking.sendTo(player, message);
+        for (var playerUUID : this.getWatchingPlayers(level, wire)) {
+            this.outbox(playerUUID, level.dimension()).remove(wire);
         }
     }
 
@@ -53,13 +66,41 @@ public class WireSync {
      * Needs to be called AFTER the wire has been added to the serverside wire multimaps
      */
     public void sendAddWireToWatchingPlayers(ServerLevel level, Wire wire) {
-        var players = this.getWatchingPlayers(level, wire);
-        var message = new MessageAddWires(Set.of(wire));
+        for (var playerUUID : this.getWatchingPlayers(level, wire)) {
+            this.outbox(playerUUID, level.dimension()).add(wire);
+        }
+    }
 
-        for (var playerUUID : players) {
-            var player = level.getServer().getPlayerList().getPlayer(playerUUID); //this uses a map and is faster than level.getPlayerByUUID
-            Networking.sendTo(player, message);
+    /**
+     * Sends the collected wire changes of all players.
+     */
+    public void onServerTick(ServerTickEvent.Post event) {
+        if (this.outboxes.isEmpty())
+            return;
+
+        var playerList = event.getServer().getPlayerList();
+        for (var entry : this.outboxes.entrySet()) {
+            var player = playerList.getPlayer(entry.getKey()); //this uses a map and is faster than level.getPlayerByUUID
+            var outbox = entry.getValue();
+            //if the player left or changed the level in the meantime the changes are outdated, the client will get the wires of the new level via chunk watch.
+            if (player != null && player.level().dimension().equals(outbox.dimension)) {
+                if (!outbox.removed.isEmpty())
+                    Networking.sendTo(player, new MessageRemoveWires(outbox.removed));
+                if (!outbox.added.isEmpty())
+                    Networking.sendTo(player, new MessageAddWires(outbox.added));
+            }
+        }
+        this.outboxes.clear();
+    }
+
+    private Outbox outbox(UUID player, ResourceKey<Level> dimension) {
+        var outbox = this.outboxes.get(player);
+        if (outbox == null || !outbox.dimension.equals(dimension)) {
+            //changes for the previous level are no longer relevant
+            outbox = new Outbox(dimension);
+            this.outboxes.put(player, outbox);
         }
+        return outbox;
     }
 
 
@@ -68,14 +109,15 @@ public class WireSync {
         var chunks = Wires.get(level).getChunks(wire); //get all chunks the wire intersects with
         for (var chunk : chunks) {
             var playersInChunk = this.watchedChunkToPlayers.get(chunk); //then get the players watching each chunk
-            players.addAll(playersInChunk);
+            if (playersInChunk != null)
+                players.addAll(playersInChunk);
         }
         return players;
     }
 
     private void sendAddWiresInChunk(ServerPlayer player, ChunkPos chunkPos) {
         var wires = Wires.get(player.level());
-        Networking.sendTo(player, new MessageAddWires(wires.getWires(chunkPos)));
+        this.outbox(player.getUUID(), player.level().dimension()).addAll(wires.getWires(chunkPos));
     }
 
     private void sendRemoveWiresInChunk(ServerPlayer player, ChunkPos chunkPos) {
@@ -88,7 +130,7 @@ public class WireSync {
             var otherChunksForWire = manager.getChunks(wire);
 
             //if the wire is only in one chunk we can safely remove it from the client
-            if (otherChunksForWire.size() == 1) {
+            if (otherChunksForWire.length == 1) {
                 wiresToRemove.add(wire);
                 continue;
             }
@@ -96,10 +138,11 @@ public class WireSync {
             //if not we need to check if it in any of the other watched chunks of the player
             //if it is, we cannot remove it
             boolean isStillWatched = false;
+            var watchedChunks = this.playerToWatchedChunk.get(player.getUUID());
             for (var otherChunk : otherChunksForWire) {
                 //the current chunk has already been removed from playerToWatchedChunk before this method was called
                 //so this will not lead to a "false positive" and we can safely just query the map.
-                if (this.playerToWatchedChunk.containsEntry(player.getUUID(), otherChunk)) {
+                if (watchedChunks != null && watchedChunks.contains(otherChunk)) {
                     isStillWatched = true;
                     break;
                 }
@@ -110,14 +153,15 @@ public class WireSync {
             }
         }
 
-        Networking.sendTo(player, new MessageRemoveWires(wiresToRemove));
+        this.outbox(player.getUUID(), player.level().dimension()).removeAll(wiresToRemove);
     }
 
     public void onChunkWatch(ChunkWatchEvent.Watch event) {
         //TODO: probably safe to do this async
 
-        this.playerToWatchedChunk.put(event.getPlayer().getUUID(), event.getPos());
-        this.watchedChunkToPlayers.put(event.getPos(), event.getPlayer().getUUID());
+        var chunk = event.getPos().toLong();
+        this.playerToWatchedChunk.computeIfAbsent(event.getPlayer().getUUID(), k -> new LongOpenHashSet()).add(chunk);
+        this.watchedChunkToPlayers.computeIfAbsent(chunk, k -> new ObjectOpenHashSet<>()).add(event.getPlayer().getUUID());
         this.sendAddWiresInChunk(event.getPlayer(), event.getPos());
 
     }
@@ -125,8 +169,45 @@ public class WireSync {
     public void onChunkUnWatch(ChunkWatchEvent.UnWatch event) {
         //TODO: probably safe to do this async
 
-        this.playerToWatchedChunk.remove(event.getPlayer().getUUID(), event.getPos());
-        this.watchedChunkToPlayers.remove(event.getPos(), event.getPlayer().getUUID());
+        var chunk = event.getPos().toLong();
+        var watchedChunks = this.playerToWatchedChunk.get(event.getPlayer().getUUID());
+        if (watchedChunks != null && watchedChunks.remove(chunk) && watchedChunks.isEmpty())
+            this.playerToWatchedChunk.remove(event.getPlayer().getUUID());
+        var players = this.watchedChunkToPlayers.get(chunk);
+        if (players != null && players.remove(event.getPlayer().getUUID()) && players.isEmpty())
+            this.watchedChunkToPlayers.remove(chunk);
         this.sendRemoveWiresInChunk(event.getPlayer(), event.getPos());
     }
+
+    /**
+     * Pending wire changes of a single player. A wire is either in added or removed, the latest change wins.
+     * Removals are always sent, even if the wire was added in the same tick, because the client may have known it from an earlier message.
+     */
+    private static class Outbox {
+        private final ResourceKey<Level> dimension;
+        private final Set<Wire> added = new ObjectOpenHashSet<>();
+        private final Set<Wire> removed = new ObjectOpenHashSet<>();
+
+        private Outbox(ResourceKey<Level> dimension) {
+            this.dimension = dimension;
+        }
+
+        public void add(Wire wire) {
+            this.removed.remove(wire);
+            this.added.add(wire);
+        }
+
+        public void addAll(Collection<Wire> wires) {
+            wires.forEach(this::add);
+        }
+
+        public void remove(Wire wire) {
+            this.added.remove(wire);
+            this.removed.add(wire);
+        }
+
+        public void removeAll(Collection<Wire> wires) {
+            wires.forEach(this::remove);
+        }
+    }
 }
@@ -4,12 +4,13 @@
 
 package com.klikli_dev.theurgy.logistics;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.SetMultimap;
 import com.klikli_dev.modonomicon.util.Codecs;
+import com.klikli_dev.theurgy.registry.AttachmentTypeRegistry;
 import com.mojang.serialization.Codec;
-import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
@@ -20,22 +21,31 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Stream;
-
+import java.util.function.LongConsumer;
+
+/**
+ * The wires of a level.
+ * <p>
+ * On the server each wire is stored in a chunk attachment of every chunk it passes through, see AttachmentTypeRegistry.WIRES.
+ * Only wires of loaded chunks are kept in memory and indexed, they are picked up and dropped as chunks load and unload.
+ * <p>
+ * Wires used to be stored all at once in this SavedData. Such legacy wires are moved into the chunk attachments as their chunks load,
+ * until then they are kept here and saved with the level.
+ */
 public class Wires extends SavedData {
 
     public static final String ID = "theurgy.wires";
-    public static final Codec<Wires> CODEC = RecordCodecBuilder.create(instance -> instance.group(
-            Codecs.set(Wire.CODEC).fieldOf("wireConnections").forGetter(wires -> wires.wires),
-            Codec.BOOL.fieldOf("isClient").forGetter(wires -> wires.isClient)
-    ).apply(instance, Wires::new));
+    public static final Codec<Set<Wire>> LEGACY_CODEC = Codecs.set(Wire.CODEC).fieldOf("wireConnections").codec();
     private static final String NBT_TAG = "theurgy:wires";
 
     private static WeakReference<ServerLevel> cachedServerLevel = new WeakReference<>(null);
@@ -45,70 +55,136 @@ public class Wires extends SavedData {
     private static WeakReference<Wires> cachedClientWires = new WeakReference<>(null);
 
     /**
-     * Store all wire connections.
-     * Server only - if we modify this on the logical client we get into trouble because this is a singleton - we'd remove them permanently
+     * The level the wires are in, null on the client.
      */
-    private final Set<Wire> wires = new ObjectOpenHashSet<>();
+    @Nullable
+    private final ServerLevel level;
 
     /**
-     * Store all wires per chunk to access for e.g. players watching a chunk.
+     * Wires from the old global storage that have not been moved to all their chunks yet.
      */
-    private final SetMultimap<ChunkPos, Wire> chunkToWires = Multimaps.synchronizedSetMultimap(HashMultimap.create());
+    private final Set<Wire> legacyWires = new ObjectOpenHashSet<>();
     /**
-     * Also store reverse map, mainly to make removal from chunkToWires easier.
+     * The legacy wires per chunk (ChunkPos.toLong()) that still need to be moved into that chunk.
      */
-    private final SetMultimap<Wire, ChunkPos> wiresToChunk = Multimaps.synchronizedSetMultimap(HashMultimap.create());
+    private final Long2ObjectOpenHashMap<Set<Wire>> legacyWiresPerChunk = new Long2ObjectOpenHashMap<>();
+    /**
+     * The number of chunks each legacy wire still needs to be moved into.
+     */
+    private final Object2IntOpenHashMap<Wire> legacyChunksRemaining = new Object2IntOpenHashMap<>();
 
     /**
-     * Maps the wire start and end point to the wire.
+     * The wires of all loaded chunks, with the number of loaded chunks that store them.
+     * A wire is indexed as long as at least one of its chunks is loaded.
+     * Server only - on the client the wires are handed to the WireRenderer.
      */
-    private final SetMultimap<BlockPos, Wire> blockPosToWire = Multimaps.synchronizedSetMultimap(HashMultimap.create());
+    private final Object2IntOpenHashMap<Wire> loadedWires = new Object2IntOpenHashMap<>();
 
-    private final boolean isClient;
+    /**
+     * Store all wires per chunk (ChunkPos.toLong()) to access for e.g. players watching a chunk.
+     * The indices are only accessed on the server thread, so they need no synchronization.
+     */
+    private final Long2ObjectOpenHashMap<Set<Wire>> chunkToWires = new Long2ObjectOpenHashMap<>();
+    /**
+     * Also store reverse map, mainly to make removal from chunkToWires easier.
+     */
+    private final Object2ObjectOpenHashMap<Wire, long[]> wiresToChunk = new Object2ObjectOpenHashMap<>();
 
-    public Wires(boolean isClient) {
-        this.isClient = isClient;
-    }
+    /**
+     * Maps the wire start and end point (BlockPos.asLong()) to the wire.
+     */
+    private final Long2ObjectOpenHashMap<Set<Wire>> blockPosToWire = new Long2ObjectOpenHashMap<>();
 
-    public Wires(Set<Wire> wires, boolean isClient) {
-        this(isClient);
+    /**
+     * Reused to collect the chunks of a wire.
+     */
+    private final LongArrayList chunkScratch = new LongArrayList();
 
-        if(!isClient){
-            this.wires.addAll(wires);
+    private final boolean isClient;
 
-            //restore chunkToWires and wiresToChunk and blockPosToWire
-            this.wires.forEach(wire -> {
-                this.calculateChunkPosForWire(wire).forEach(chunkPos -> {
-                    this.chunkToWires.put(chunkPos, wire);
-                    this.wiresToChunk.put(wire, chunkPos);
-                });
+    private Wires(@Nullable ServerLevel level, Set<Wire> legacyWires) {
+        this.level = level;
+        this.isClient = level == null;
 
-                this.blockPosToWire.put(wire.from(), wire);
-                this.blockPosToWire.put(wire.to(), wire);
-            });
+        if (!this.isClient) {
+            this.legacyWires.addAll(legacyWires);
+            this.legacyWires.forEach(wire -> forEachChunk(wire, chunk -> {
+                this.legacyWiresPerChunk.computeIfAbsent(chunk, k -> new ObjectOpenHashSet<>()).add(wire);
+                this.legacyChunksRemaining.addTo(wire, 1);
+            }));
         }
+    }
+
+    /**
+     * Visits every chunk the wire passes through.
+     * Wires only sag vertically, so on the XZ plane a wire is the straight line between the centers of its ends.
+     * The line is traversed chunk by chunk (like a DDA voxel traversal), so no chunk is missed, no matter how long the wire is.
+     * If the line passes exactly through a chunk corner, both neighboring chunks are visited as well.
+     */
+    static void forEachChunk(Wire wire, LongConsumer consumer) {
+        double x0 = wire.from().getX() + 0.5;
+        double z0 = wire.from().getZ() + 0.5;
+        double dx = wire.to().getX() + 0.5 - x0;
+        double dz = wire.to().getZ() + 0.5 - z0;
+
+        int chunkX = SectionPos.blockToSectionCoord(wire.from().getX());
+        int chunkZ = SectionPos.blockToSectionCoord(wire.from().getZ());
+        int endChunkX = SectionPos.blockToSectionCoord(wire.to().getX());
+        int endChunkZ = SectionPos.blockToSectionCoord(wire.to().getZ());
+        int stepX = Integer.signum(endChunkX - chunkX);
+        int stepZ = Integer.signum(endChunkZ - chunkZ);
+
+        //tMax is the fraction of the line at which the next chunk border is crossed on that axis, tDelta the fraction between two borders
+        double tDeltaX = stepX == 0 ? Double.POSITIVE_INFINITY : 16 / Math.abs(dx);
+        double tDeltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : 16 / Math.abs(dz);
+        double tMaxX = stepX == 0 ? Double.POSITIVE_INFINITY : (stepX > 0 ? SectionPos.sectionToBlockCoord(chunkX + 1) - x0 : x0 - SectionPos.sectionToBlockCoord(chunkX)) / Math.abs(dx);
+        double tMaxZ = stepZ == 0 ? Double.POSITIVE_INFINITY : (stepZ > 0 ? SectionPos.sectionToBlockCoord(chunkZ + 1) - z0 : z0 - SectionPos.sectionToBlockCoord(chunkZ)) / Math.abs(dz);
+
+        consumer.accept(ChunkPos.asLong(chunkX, chunkZ));
+        while (chunkX != endChunkX || chunkZ != endChunkZ) {
+            //once an axis reached its end chunk we only step the other one, this also protects against rounding errors
+            boolean stepInX = chunkZ == endChunkZ || (chunkX != endChunkX && tMaxX < tMaxZ);
+            boolean stepInZ = chunkX == endChunkX || (chunkZ != endChunkZ && tMaxZ < tMaxX);
+            if (!stepInX && !stepInZ) {
+                //exactly through the corner
+                consumer.accept(ChunkPos.asLong(chunkX + stepX, chunkZ));
+                consumer.accept(ChunkPos.asLong(chunkX, chunkZ + stepZ));
+                stepInX = true;
+                stepInZ = true;
+            }
 
+            if (stepInX) {
+                chunkX += stepX;
+                tMaxX += tDeltaX;
+            }
+            if (stepInZ) {
+                chunkZ += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+            consumer.accept(ChunkPos.asLong(chunkX, chunkZ));
+        }
     }
 
     /**
      * Gets all wires connected to the given block pos
      */
     public Set<Wire> getWires(BlockPos pos){
-        return this.blockPosToWire.get(pos);
+        return this.blockPosToWire.getOrDefault(pos.asLong(), Collections.emptySet());
     }
 
     /**
      * Gets all wires in a chunk
      */
     public Set<Wire> getWires(ChunkPos chunk){
-        return this.chunkToWires.get(chunk);
+        return this.chunkToWires.getOrDefault(chunk.toLong(), Collections.emptySet());
     }
 
     /**
-     * Gets all chunks a wire is in
+     * Gets all chunks (as ChunkPos.toLong()) a wire is in
      */
-    public Set<ChunkPos> getChunks(Wire wire){
-        return this.wiresToChunk.get(wire);
+    public long[] getChunks(Wire wire){
+        var chunks = this.wiresToChunk.get(wire);
+        return chunks != null ? chunks : new long[0];
     }
 
     public static Wires get(Level level) {
@@ -119,7 +195,7 @@ public class Wires extends SavedData {
             }
 
             var wires = serverLevel.getDataStorage().computeIfAbsent(
-                    new SavedData.Factory<>(() -> new Wires(false), Wires::load, DataFixTypes.LEVEL),
+                    new SavedData.Factory<>(() -> new Wires(serverLevel, Set.of()), (tag, registries) -> Wires.load(serverLevel, tag, registries), DataFixTypes.LEVEL),
                     Wires.ID
             );
 
@@ -135,7 +211,7 @@ public class Wires extends SavedData {
 
             //on client data is not stored in the world, so we make an empty
             //it will be filled via the chunk watch events that cause a sync from server
-            var wires = new Wires(true);
+            var wires = new Wires(null, Set.of());
 
             cachedClientLevel = new WeakReference<>(level);
             cachedClientWires = new WeakReference<>(wires);
@@ -156,42 +232,139 @@ public class Wires extends SavedData {
         } else if (event.getLevel() == cachedClientLevel.get()) {
             cachedClientLevel = new WeakReference<>(null);
             cachedClientWires = new WeakReference<>(null);
-            WireRenderer.get().wires.clear();
+            WireRenderer.get().clear();
         }
     }
 
-    public static Wires load(CompoundTag pCompoundTag, HolderLookup.Provider pRegistries) {
-        return CODEC.parse(pRegistries.createSerializationContext(NbtOps.INSTANCE), pCompoundTag.get(NBT_TAG)).result().orElseThrow();
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk) {
+            Wires.get(level).chunkLoaded(chunk);
+        }
+    }
+
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk) {
+            Wires.get(level).chunkUnloaded(chunk);
+        }
     }
 
-    Stream<ChunkPos> calculateChunkPosForWire(Wire wire) {
-        return Arrays.stream(WireSlackHelper.getInterpolatedPoints(wire.from().getCenter(), wire.to().getCenter())).map(pos -> new ChunkPos(
-                SectionPos.blockToSectionCoord(pos.x()),
-                SectionPos.blockToSectionCoord(pos.z())
-        ));
+    public static Wires load(ServerLevel level, CompoundTag pCompoundTag, HolderLookup.Provider pRegistries) {
+        var legacyWires = LEGACY_CODEC.parse(pRegistries.createSerializationContext(NbtOps.INSTANCE), pCompoundTag.get(NBT_TAG)).result().orElseThrow();
+        return new Wires(level, legacyWires);
+    }
+
+    private void chunkLoaded(LevelChunk chunk) {
+        this.migrateLegacyWires(chunk);
+
+        if (!chunk.hasData(AttachmentTypeRegistry.WIRES))
+            return;
+
+        for (var wire : chunk.getData(AttachmentTypeRegistry.WIRES)) {
+            this.wireLoaded(wire);
+        }
+    }
+
+    private void chunkUnloaded(LevelChunk chunk) {
+        if (!chunk.hasData(AttachmentTypeRegistry.WIRES))
+            return;
+
+        for (var wire : chunk.getData(AttachmentTypeRegistry.WIRES)) {
+            this.wireUnloaded(wire);
+        }
+    }
+
+    /**
+     * Moves the legacy wires of the chunk into its attachment.
+     * Once a legacy wire has been moved into all its chunks it no longer needs to be saved here.
+     */
+    private void migrateLegacyWires(LevelChunk chunk) {
+        var wires = this.legacyWiresPerChunk.remove(chunk.getPos().toLong());
+        if (wires == null)
+            return;
+
+        chunk.getData(AttachmentTypeRegistry.WIRES).addAll(wires);
+        chunk.setUnsaved(true);
+
+        for (var wire : wires) {
+            if (this.legacyChunksRemaining.addTo(wire, -1) == 1) {
+                this.legacyChunksRemaining.removeInt(wire);
+                this.legacyWires.remove(wire);
+            }
+        }
+        this.setDirty();
+    }
+
+    private void wireLoaded(Wire wire) {
+        if (this.loadedWires.addTo(wire, 1) == 0) {
+            this.index(wire);
+        }
+    }
+
+    private void wireUnloaded(Wire wire) {
+        if (this.loadedWires.addTo(wire, -1) == 1) {
+            this.loadedWires.removeInt(wire);
+            this.unindex(wire);
+        }
+    }
+
+    private void index(Wire wire) {
+        this.chunkScratch.clear();
+        forEachChunk(wire, this.chunkScratch::add);
+        var chunks = this.chunkScratch.toLongArray();
+        for (var chunk : chunks) {
+            this.chunkToWires.computeIfAbsent(chunk, k -> new ObjectOpenHashSet<>()).add(wire);
+        }
+        this.wiresToChunk.put(wire, chunks);
+
+        this.blockPosToWire.computeIfAbsent(wire.from().asLong(), k -> new ObjectOpenHashSet<>()).add(wire);
+        this.blockPosToWire.computeIfAbsent(wire.to().asLong(), k -> new ObjectOpenHashSet<>()).add(wire);
+    }
+
+    private void unindex(Wire wire) {
+        this.removeFromIndex(this.blockPosToWire, wire.from().asLong(), wire);
+        this.removeFromIndex(this.blockPosToWire, wire.to().asLong(), wire);
+
+        var chunks = this.wiresToChunk.remove(wire);
+        if (chunks != null) {
+            for (var chunk : chunks) {
+                this.removeFromIndex(this.chunkToWires, chunk, wire);
+            }
+        }
+    }
+
+    private void removeFromIndex(Long2ObjectOpenHashMap<Set<Wire>> index, long key, Wire wire) {
+        var wires = index.get(key);
+        if (wires != null && wires.remove(wire) && wires.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Gets the chunk to store wires in.
+     * Wires are short and their ends are loaded when they are modified, so this rarely has to load a chunk.
+     * But it must not skip unloaded chunks, otherwise their attachment would get out of sync.
+     */
+    private LevelChunk getChunk(long chunk) {
+        return this.level.getChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk));
     }
 
     public void addWire(Wire wire) {
         if (this.isClient) {
-            //we just add it to the renderer's set.
-            WireRenderer.get().wires.add(wire);
+            //the renderer bakes it into the vertex buffer of its chunk section
+            WireRenderer.get().addWire(wire);
         } else {
-            //add to our complete view of wires
-            this.wires.add(wire);
-
-            //then add to our per-chunk view
-            this.calculateChunkPosForWire(wire).forEach(chunkPos -> {
-                this.chunkToWires.put(chunkPos, wire);
-                this.wiresToChunk.put(wire, chunkPos);
+            //store in every chunk the wire passes through, which also adds it to our per-chunk view
+            forEachChunk(wire, chunkPos -> {
+                var chunk = this.getChunk(chunkPos);
+                if (chunk.getData(AttachmentTypeRegistry.WIRES).add(wire)) {
+                    chunk.setUnsaved(true);
+                    this.wireLoaded(wire);
+                }
             });
 
-            this.blockPosToWire.put(wire.from(), wire);
-            this.blockPosToWire.put(wire.to(), wire);
-
             //needs to be called last because it relies on the new state
-            WireSync.get().sendAddWireToWatchingPlayers(cachedServerLevel.get(), wire);
+            WireSync.get().sendAddWireToWatchingPlayers(this.level, wire);
         }
-        this.setDirty();
     }
 
     public int removeWiresFor(BlockPos pos){
@@ -203,28 +376,32 @@ public class Wires extends SavedData {
 
     public void removeWire(Wire wire) {
         if (this.isClient) {
-            //we just add it to the renderer's set.
-            WireRenderer.get().wires.remove(wire);
+            //the renderer rebuilds the vertex buffer of the wire's chunk section
+            WireRenderer.get().removeWire(wire);
         } else {
             //needs to be called first because it relies on the old state
-            WireSync.get().sendRemoveWireToWatchingPlayers(cachedServerLevel.get(), wire);
-
-            this.wires.remove(wire);
-            this.blockPosToWire.remove(wire.from(), wire);
-            this.blockPosToWire.remove(wire.to(), wire);
-
-            Set<ChunkPos> chunks = this.wiresToChunk.get(wire);
-            for (ChunkPos chunkPos : chunks) {
-                this.chunkToWires.remove(chunkPos, wire);
-            }
-            this.wiresToChunk.removeAll(wire);
+            WireSync.get().sendRemoveWireToWatchingPlayers(this.level, wire);
+
+            //loading a chunk with legacy wires migrates them first, so afterward the attachments hold all copies of the wire
+            forEachChunk(wire, chunkPos -> {
+                var chunk = this.getChunk(chunkPos);
+                if (!chunk.hasData(AttachmentTypeRegistry.WIRES))
+                    return;
+
+                var wires = chunk.getData(AttachmentTypeRegistry.WIRES);
+                if (wires.remove(wire)) {
+                    if (wires.isEmpty())
+                        chunk.removeData(AttachmentTypeRegistry.WIRES);
+                    chunk.setUnsaved(true);
+                    this.wireUnloaded(wire);
+                }
+            });
         }
-        this.setDirty();
     }
 
     @Override
     public CompoundTag save(CompoundTag pCompoundTag, HolderLookup.Provider pRegistries) {
-        pCompoundTag.put(NBT_TAG, CODEC.encodeStart(pRegistries.createSerializationContext(NbtOps.INSTANCE), this).result().orElseThrow());
+        pCompoundTag.put(NBT_TAG, LEGACY_CODEC.encodeStart(pRegistries.createSerializationContext(NbtOps.INSTANCE), this.legacyWires).result().orElseThrow());
         return pCompoundTag;
     }
 }
@@ -0,0 +1,29 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.registry;
+
+import com.klikli_dev.theurgy.Theurgy;
+import com.klikli_dev.theurgy.logistics.Wire;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+public class AttachmentTypeRegistry {
+
+    public static final DeferredRegister<AttachmentType<?>> ATTACHMENT_TYPES = DeferredRegister.create(NeoForgeRegistries.ATTACHMENT_TYPES, Theurgy.MODID);
+
+    /**
+     * The wires passing through a chunk. A wire is stored in every chunk it passes through, see Wires.
+     */
+    public static final DeferredHolder<AttachmentType<?>, AttachmentType<Set<Wire>>> WIRES = ATTACHMENT_TYPES.register("wires", () -> AttachmentType.<Set<Wire>>builder(() -> new ObjectOpenHashSet<>())
+            .serialize(Wire.CODEC.listOf().xmap(ObjectOpenHashSet::new, ArrayList::new))
+            .build()
+    );
+}
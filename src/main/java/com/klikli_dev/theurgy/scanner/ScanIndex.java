@@ -0,0 +1,189 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.scanner;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client side index of the positions of scanned blocks, per chunk section.
+ * <p>
+ * A section is indexed the first time a scan has to read its blocks, and only for the blocks that scan was looking for.
+ * Repeated scans for the same blocks in the same area then only look up the positions.
+ * <p>
+ * Entries are dropped when their chunk is (re)loaded or unloaded, and after MAX_ENTRY_AGE ticks.
+ * Single block updates are not observable on the client without mixins, so the index can go stale in two ways:
+ * <ul>
+ *     <li>Removed blocks: scan results are checked against the level before they are used, see ScanManager.finishScan(),
+ *     and sections with stale positions are dropped then.</li>
+ *     <li>Placed or exposed blocks: these are missed by scans until the entry of their section expires.
+ *     MAX_ENTRY_AGE is kept short for this reason.</li>
+ * </ul>
+ * <p>
+ * Only accessed on the client thread.
+ */
+public class ScanIndex {
+    /**
+     * The time in ticks after which a section is read again, so blocks placed or exposed since indexing are picked up.
+     * Long enough to cover repeated divination rod uses in the same area, short enough that missed blocks show up soon.
+     */
+    public static final int MAX_ENTRY_AGE = 20 * 10;
+
+    private static final ScanIndex instance = new ScanIndex();
+
+    /**
+     * Indexed sections by SectionPos.asLong().
+     */
+    private final Long2ObjectOpenHashMap<Entry> sections = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Chunks (as ChunkPos.toLong()) invalidated while a scan is running.
+     * The scan read them before, so its results must not be indexed for these chunks.
+     */
+    private final LongOpenHashSet invalidatedSinceSnapshot = new LongOpenHashSet();
+    private boolean isScanRunning;
+
+    public static ScanIndex get() {
+        return instance;
+    }
+
+    /**
+     * Packs the position within a section, in the same order the paletted container stores the states.
+     */
+    public static short pack(int x, int y, int z) {
+        return (short) (((y & 15) << 8) | ((z & 15) << 4) | (x & 15));
+    }
+
+    public static int unpackX(short packed) {
+        return packed & 15;
+    }
+
+    public static int unpackY(short packed) {
+        return (packed >> 8) & 15;
+    }
+
+    public static int unpackZ(short packed) {
+        return (packed >> 4) & 15;
+    }
+
+    /**
+     * Gets the indexed positions of the given blocks in a section.
+     *
+     * @return the positions per block that occurs in the section, or null if the section is not indexed for all given blocks.
+     */
+    @Nullable
+    public List<short[]> lookup(long sectionPos, Set<Block> blocks, long gameTime) {
+        var entry = this.sections.get(sectionPos);
+        if (entry == null)
+            return null;
+
+        if (gameTime - entry.indexedAt > MAX_ENTRY_AGE) {
+            this.sections.remove(sectionPos);
+            return null;
+        }
+
+        List<short[]> result = new ArrayList<>();
+        for (var block : blocks) {
+            var positions = entry.positions.get(block);
+            if (positions == null)
+                return null;
+            if (positions.length > 0)
+                result.add(positions);
+        }
+        return result;
+    }
+
+    /**
+     * Called when the snapshot for a new scan is taken.
+     */
+    public void onScanStarted() {
+        this.invalidatedSinceSnapshot.clear();
+        this.isScanRunning = true;
+    }
+
+    /**
+     * Called when the scan finished or was cancelled, after its results were added.
+     */
+    public void onScanFinished() {
+        this.invalidatedSinceSnapshot.clear();
+        this.isScanRunning = false;
+    }
+
+    /**
+     * Adds the positions a scan found to the index.
+     *
+     * @param indexedSections the positions per block for each section the scan read, by SectionPos.asLong().
+     */
+    public void add(Long2ObjectMap<Map<Block, short[]>> indexedSections, long gameTime) {
+        for (var section : indexedSections.long2ObjectEntrySet()) {
+            long sectionPos = section.getLongKey();
+            if (this.invalidatedSinceSnapshot.contains(ChunkPos.asLong(SectionPos.x(sectionPos), SectionPos.z(sectionPos))))
+                continue;
+
+            var entry = this.sections.get(sectionPos);
+            if (entry == null || gameTime - entry.indexedAt > MAX_ENTRY_AGE) {
+                entry = new Entry(gameTime);
+                this.sections.put(sectionPos, entry);
+            }
+            entry.positions.putAll(section.getValue());
+        }
+    }
+
+    public void invalidate(long sectionPos) {
+        this.sections.remove(sectionPos);
+    }
+
+    public void invalidateChunk(ChunkAccess chunk) {
+        var pos = chunk.getPos();
+        if (this.isScanRunning)
+            this.invalidatedSinceSnapshot.add(pos.toLong());
+        if (this.sections.isEmpty())
+            return;
+
+        for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
+            this.sections.remove(SectionPos.asLong(pos.x, sectionY, pos.z));
+        }
+    }
+
+    public void clear() {
+        this.sections.clear();
+        this.onScanFinished();
+    }
+
+    /**
+     * Chunk data packets replace the whole chunk, so we also invalidate on load.
+     */
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel().isClientSide())
+            this.invalidateChunk(event.getChunk());
+    }
+
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel().isClientSide())
+            this.invalidateChunk(event.getChunk());
+    }
+
+    private static class Entry {
+        private final long indexedAt;
+        private final Map<Block, short[]> positions = new Reference2ObjectOpenHashMap<>();
+
+        private Entry(long indexedAt) {
+            this.indexedAt = indexedAt;
+        }
+    }
+}
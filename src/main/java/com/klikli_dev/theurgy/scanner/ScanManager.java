@@ -4,73 +4,104 @@
 
 package com.klikli_dev.theurgy.scanner;
 
+import com.klikli_dev.theurgy.Theurgy;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Based on https://github.com/MightyPirates/Scannable
+ * <p>
+ * The sections in range are collected when the scan begins, and then scanned on a background worker.
+ * The result is usually ready long before the divination rod use is finished, otherwise finishScan() completes once it is.
  */
 public class ScanManager {
     private static final ScanManager instance = new ScanManager();
-    List<BlockPos> results = new ArrayList<>();
     private Scanner scanner;
-    private int scanningTicks = -1;
+    private CompletableFuture<Scanner.Result> result;
 
     public static ScanManager get() {
         return instance;
     }
 
-    public void beginScan(Player player, Set<Block> targets, int range, int duration) {
+    public void beginScan(Player player, Set<Block> targets, int range) {
         this.cancelScan();
 
-        this.scanner = new Scanner(targets);
-        this.scanner.initialize(player, player.position(), range, duration);
+        var scanner = new Scanner(targets);
+        var snapshot = scanner.snapshot(player.level(), player.position(), range, ScanIndex.get());
+        this.scanner = scanner;
+        this.result = CompletableFuture.supplyAsync(() -> scanner.scan(snapshot), Util.backgroundExecutor())
+                .exceptionally(e -> {
+                    Theurgy.LOGGER.error("Divination scan failed", e);
+                    return null;
+                });
     }
 
-    public void updateScan(Player player, boolean forceFinish) {
-        if (this.scanner == null)
-            return;
-
-        final int remainingTicks = this.scanner.totalTicks - this.scanningTicks;
-        if (remainingTicks <= 0) {
-            return;
-        }
-
-        //if we are not forcing we simply tick once
-        if (!forceFinish) {
-            this.scanner.scan(result -> this.results.add(result));
-            this.scanningTicks++;
+    /**
+     * Hands the target closest to the player position at the beginning of the scan, or null if none was found, to onResult.
+     * If the worker is not done yet, onResult is called on the client thread once it is, unless the scan is cancelled in the meantime.
+     */
+    public void finishScan(Player player, Consumer<@Nullable BlockPos> onResult) {
+        var future = this.result;
+        if (future == null) {
+            onResult.accept(null);
             return;
         }
 
-        //when forcing we scan through all remaining ticks at once
-        for (int i = 0; i < remainingTicks; i++) {
-            this.scanner.scan(result -> this.results.add(result));
-            this.scanningTicks++;
+        if (future.isDone()) {
+            this.completeScan(player, future, future.getNow(null), onResult);
+        } else {
+            //never wait for the worker on the client thread, instead continue there once the result is ready
+            future.thenAcceptAsync(result -> this.completeScan(player, future, result, onResult), Minecraft.getInstance());
         }
     }
 
-    public BlockPos finishScan(Player player) {
-        this.updateScan(player, true);
+    protected void completeScan(Player player, CompletableFuture<Scanner.Result> future, @Nullable Scanner.Result result, Consumer<@Nullable BlockPos> onResult) {
+        if (this.result != future)
+            return; //cancelled or replaced by a new scan while the worker was running
 
-        Vec3 scanCenter = player.position();
-        this.results
-                .sort(Comparator.comparing(result -> result.distToCenterSqr(scanCenter)));
-        BlockPos result = !this.results.isEmpty() ? this.results.get(0) : null;
+        var scanner = this.scanner;
+        var level = player.level();
+        if (result != null)
+            ScanIndex.get().add(result.indexedSections(), level.getGameTime());
         this.cancelScan();
-        return result;
+        if (result == null) {
+            onResult.accept(null);
+            return;
+        }
+
+        //the index does not see single block updates, so we make sure the target is still there
+        for (var pos : result.found()) {
+            if (scanner.isValidBlock(level.getBlockState(pos))) {
+                onResult.accept(pos);
+                return;
+            }
+            ScanIndex.get().invalidate(SectionPos.asLong(pos));
+        }
+        onResult.accept(null);
     }
 
     public void cancelScan() {
+        if (this.scanner != null)
+            this.scanner.cancel();
         this.scanner = null;
-        this.results.clear();
-        this.scanningTicks = -1;
+        this.result = null;
+        ScanIndex.get().onScanFinished();
+    }
+
+    public void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            this.cancelScan();
+            ScanIndex.get().clear();
+        }
     }
 }
@@ -4,114 +4,204 @@
 
 package com.klikli_dev.theurgy.scanner;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.util.Mth;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.PalettedContainer;
 import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Based on https://github.com/MightyPirates/Scannable
+ * <p>
+ * Scans in two steps: snapshot() collects the sections in range on the thread owning the level,
+ * then scan() looks through them, which is safe to do on any thread.
+ * The block palette of a section tells us which states it contains, so sections without any target block are skipped entirely.
+ * Sections already in the ScanIndex are not read at all, the others are copied and indexed by the scan.
  */
 public class Scanner {
+    private static final short[] NO_POSITIONS = new short[0];
 
-    public int totalTicks;
+    protected final Set<Block> targets;
+    protected final Predicate<BlockState> isValidBlock = this::isValidBlock;
 
-    protected Set<Block> targets;
-
-    protected Player player;
-    protected Vec3 center;
-    protected float radius;
-    //radius squared for faster comparison of distance
-    protected float radiusSquared;
-
-    //the max extent of the scan
-    protected BlockPos min;
-    protected BlockPos max;
-
-    //the current scanned block
-    protected int x;
-    protected int y;
-    protected int z;
-
-    private int blocksPerTick;
+    private volatile boolean cancelled;
 
     public Scanner(Set<Block> targets) {
         this.targets = targets;
     }
 
-    public void initialize(Player player, Vec3 center, float radius, int totalTicks) {
-        this.totalTicks = totalTicks;
-        this.player = player;
-        this.center = center;
-        this.radius = radius;
-        this.radiusSquared = this.radius * this.radius;
-        this.min = BlockPos.containing(center).offset(Mth.ceil(-this.radius), Mth.ceil(-this.radius), Mth.ceil(-this.radius));
-        this.max = BlockPos.containing(center).offset(Mth.ceil(this.radius), Mth.ceil(this.radius), Mth.ceil(this.radius));
-        this.x = this.min.getX();
-        this.y = this.min.getY() - 1;//first move next increments this to min.getY();
-        this.z = this.min.getZ();
-
-        BlockPos size = this.max.subtract(this.min);
-        int blockCount = (size.getX() + 1) * (size.getY() + 1) * (size.getZ() + 1);
-        this.blocksPerTick = Mth.ceil(blockCount / (float) totalTicks);
-    }
-
-    public void reset() {
-        this.player = null;
-        this.center = null;
-        this.radius = 0;
-        this.radiusSquared = 0;
-        this.min = null;
-        this.max = null;
+    /**
+     * The squared distance from the center to the closest block center within the given block bounds.
+     */
+    protected static double distanceToBoundsSqr(Vec3 center, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        double dx = Math.max(Math.max(minX + 0.5 - center.x, center.x - maxX - 0.5), 0);
+        double dy = Math.max(Math.max(minY + 0.5 - center.y, center.y - maxY - 0.5), 0);
+        double dz = Math.max(Math.max(minZ + 0.5 - center.z, center.z - maxZ - 0.5), 0);
+        return dx * dx + dy * dy + dz * dz;
     }
 
-    public void scan(Consumer<BlockPos> resultConsumer) {
-        Level level = this.player.level();
-        for (int i = 0; i < this.blocksPerTick; i++) {
-            //move to next block
-            if (!this.nextBlock(level)) {
-                return;
+    /**
+     * Collects all sections within radius around center that may contain a target block.
+     * Must be called on the thread owning the level.
+     */
+    public Snapshot snapshot(Level level, Vec3 center, float radius, ScanIndex index) {
+        index.onScanStarted();
+
+        float radiusSquared = radius * radius;
+        //the max extent of the scan
+        BlockPos min = BlockPos.containing(center).offset(Mth.ceil(-radius), Mth.ceil(-radius), Mth.ceil(-radius));
+        BlockPos max = BlockPos.containing(center).offset(Mth.ceil(radius), Mth.ceil(radius), Mth.ceil(radius));
+
+        int minSectionY = Math.max(SectionPos.blockToSectionCoord(min.getY()), level.getMinSection());
+        int maxSectionY = Math.min(SectionPos.blockToSectionCoord(max.getY()), level.getMaxSection() - 1);
+
+        List<SectionSnapshot> sections = new ArrayList<>();
+        for (int sectionX = SectionPos.blockToSectionCoord(min.getX()); sectionX <= SectionPos.blockToSectionCoord(max.getX()); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(min.getZ()); sectionZ <= SectionPos.blockToSectionCoord(max.getZ()); sectionZ++) {
+                var chunk = level.getChunkSource().getChunk(sectionX, sectionZ, false);
+                if (chunk == null)
+                    continue;
+
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    //the part of the section within the max extent of the scan
+                    int minX = Math.max(SectionPos.sectionToBlockCoord(sectionX), min.getX());
+                    int minY = Math.max(SectionPos.sectionToBlockCoord(sectionY), min.getY());
+                    int minZ = Math.max(SectionPos.sectionToBlockCoord(sectionZ), min.getZ());
+                    int maxX = Math.min(SectionPos.sectionToBlockCoord(sectionX, 15), max.getX());
+                    int maxY = Math.min(SectionPos.sectionToBlockCoord(sectionY, 15), max.getY());
+                    int maxZ = Math.min(SectionPos.sectionToBlockCoord(sectionZ, 15), max.getZ());
+
+                    //sections in the corners of the scan bounds can be entirely outside the sphere
+                    if (distanceToBoundsSqr(center, minX, minY, minZ, maxX, maxY, maxZ) > radiusSquared)
+                        continue;
+
+                    var section = chunk.getSection(level.getSectionIndexFromSectionY(sectionY));
+                    //if none of the states in the palette is a target, none of the blocks can be
+                    if (section.hasOnlyAir() || !section.getStates().maybeHas(this.isValidBlock))
+                        continue;
+
+                    long sectionPos = SectionPos.asLong(sectionX, sectionY, sectionZ);
+                    var indexed = index.lookup(sectionPos, this.targets, level.getGameTime());
+                    sections.add(new SectionSnapshot(sectionPos, minX, minY, minZ, maxX, maxY, maxZ,
+                            indexed == null ? section.getStates().copy() : null, indexed));
+                }
             }
+        }
 
-            //check if block is within radius
-            if (this.center.distanceToSqr(this.x + 0.5, this.y + 0.5, this.z + 0.5) > this.radiusSquared) {
-                continue;
-            }
+        return new Snapshot(center, radiusSquared, sections);
+    }
 
-            BlockPos pos = new BlockPos(this.x, this.y, this.z);
-            BlockState state = level.getBlockState(pos);
+    /**
+     * Finds all target blocks in the snapshot.
+     * Only reads the snapshot, so it can run on a worker thread.
+     *
+     * @return the targets sorted by distance to the center, and the positions of the sections that were read for the ScanIndex.
+     */
+    public Result scan(Snapshot snapshot) {
+        var center = snapshot.center();
+        List<BlockPos> found = new ArrayList<>();
+        Long2ObjectMap<Map<Block, short[]>> indexedSections = new Long2ObjectOpenHashMap<>();
+
+        for (var section : snapshot.sections()) {
+            if (this.cancelled)
+                return new Result(List.of(), indexedSections);
+
+            int originX = SectionPos.sectionToBlockCoord(SectionPos.x(section.sectionPos()));
+            int originY = SectionPos.sectionToBlockCoord(SectionPos.y(section.sectionPos()));
+            int originZ = SectionPos.sectionToBlockCoord(SectionPos.z(section.sectionPos()));
+
+            var positionsPerBlock = section.indexed();
+            if (positionsPerBlock == null) {
+                positionsPerBlock = this.index(section.states(), section.sectionPos(), indexedSections);
+            }
 
-            //if this is the block we search for, consume it.
-            if (this.isValidBlock(state)) {
-                resultConsumer.accept(pos);
+            for (var positions : positionsPerBlock) {
+                for (var packed : positions) {
+                    int x = originX + ScanIndex.unpackX(packed);
+                    int y = originY + ScanIndex.unpackY(packed);
+                    int z = originZ + ScanIndex.unpackZ(packed);
+                    if (x < section.minX() || x > section.maxX() || y < section.minY() || y > section.maxY() || z < section.minZ() || z > section.maxZ())
+                        continue;
+                    if (center.distanceToSqr(x + 0.5, y + 0.5, z + 0.5) > snapshot.radiusSquared())
+                        continue;
+
+                    found.add(new BlockPos(x, y, z));
+                }
             }
         }
+
+        found.sort(Comparator.comparingDouble(pos -> pos.distToCenterSqr(center)));
+        return new Result(found, indexedSections);
     }
 
-    public boolean nextBlock(Level level) {
-        this.y++;
-        if (this.y > this.max.getY() || this.y >= level.getHeight()) {
-            this.y = this.min.getY();
-            this.x++;
-            if (this.x > this.max.getX()) {
-                this.x = this.min.getX();
-                this.z++;
-                if (this.z > this.max.getZ()) {
-                    this.blocksPerTick = 0;
-                    return false;
+    /**
+     * Reads the positions of all target blocks in the whole section, so the index is also valid for scans with a different center.
+     */
+    protected List<short[]> index(PalettedContainer<BlockState> states, long sectionPos, Long2ObjectMap<Map<Block, short[]>> indexedSections) {
+        Map<Block, ShortArrayList> found = new Reference2ObjectOpenHashMap<>();
+        //iterate in the order the paletted container stores the states
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    var state = states.get(x, y, z);
+                    if (this.isValidBlock(state)) {
+                        found.computeIfAbsent(state.getBlock(), b -> new ShortArrayList()).add(ScanIndex.pack(x, y, z));
+                    }
                 }
             }
         }
-        return true;
+
+        Map<Block, short[]> positionsPerBlock = new Reference2ObjectOpenHashMap<>();
+        //blocks that do not occur are indexed too, so the next scan knows there are none
+        for (var block : this.targets) {
+            var positions = found.get(block);
+            positionsPerBlock.put(block, positions != null ? positions.toShortArray() : NO_POSITIONS);
+        }
+        indexedSections.put(sectionPos, positionsPerBlock);
+
+        return new ArrayList<>(positionsPerBlock.values());
+    }
+
+    /**
+     * Stops a running scan() as soon as possible.
+     */
+    public void cancel() {
+        this.cancelled = true;
     }
 
     public boolean isValidBlock(BlockState state) {
         return this.targets.contains(state.getBlock());
     }
+
+    /**
+     * The sections of a scan that may contain a target block.
+     */
+    public record Snapshot(Vec3 center, float radiusSquared, List<SectionSnapshot> sections) {
+    }
+
+    /**
+     * A section within the max extent of the scan.
+     * Either the indexed positions of the target blocks, or a copy of the block states if the section was not indexed yet.
+     */
+    public record SectionSnapshot(long sectionPos, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                  @Nullable PalettedContainer<BlockState> states, @Nullable List<short[]> indexed) {
+    }
+
+    public record Result(List<BlockPos> found, Long2ObjectMap<Map<Block, short[]>> indexedSections) {
+    }
 }
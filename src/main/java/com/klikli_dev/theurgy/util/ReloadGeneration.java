@@ -0,0 +1,31 @@
+// SPDX-FileCopyrightText: 2024 klikli-dev
+//
+// SPDX-License-Identifier: MIT
+
+package com.klikli_dev.theurgy.util;
+
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A counter that is increased whenever tags or recipes are reloaded.
+ * Caches of results that depend on tags or recipes remember the generation they were filled in, and are discarded if it changed.
+ * <p>
+ * Server and client (in singleplayer) reload on different threads, so the counter is atomic.
+ */
+public class ReloadGeneration {
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    public static int get() {
+        return generation.get();
+    }
+
+    public static void increment() {
+        generation.incrementAndGet();
+    }
+
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        increment();
+    }
+}